@@ -1,5 +1,6 @@
 import { Component, EventEmitter, Input, Output } from '@angular/core';
 import { CommonModule } from '@angular/common';
+import { ApiConfiguration } from '../../../../services/api-configuration';
 import { BookResponse } from '../../../../services/models/book-response';
 import { RatingComponent } from '../rating/rating.component';
 
@@ -11,6 +12,8 @@ import { RatingComponent } from '../rating/rating.component';
   styleUrl: './book-card.component.scss',
 })
 export class BookCardComponent {
+  constructor(private apiConfiguration: ApiConfiguration) {}
+
   get book(): BookResponse {
     return this._book;
   }
@@ -30,8 +33,10 @@ export class BookCardComponent {
   }
 
   get bookCover(): string {
-    if (this._book.cover) {
-      return 'data:image/jpg;base64,' + this._book.cover;
+    // Cards are small, the thumbnail rendition is enough
+    const coverUrl = this._book.thumbnailUrl || this._book.coverUrl;
+    if (coverUrl) {
+      return this.apiConfiguration.rootUrl + coverUrl;
     }
     // Use the book's ID to generate a consistent random image for this book
     // If no ID is available, use a default seed
@@ -5,7 +5,8 @@
 export interface BookResponse {
   archived?: boolean;
   authorName?: string;
-  cover?: string;
+  coverHash?: string;
+  coverUrl?: string;
   id?: number;
   isbn?: string;
   message?: string;
@@ -13,5 +14,6 @@ export interface BookResponse {
   rate?: number;
   shareable?: boolean;
   synopsis?: string;
+  thumbnailUrl?: string;
   title?: string;
 }
@@ -7,6 +7,7 @@ export interface PageResponseBookResponse {
   content?: Array<BookResponse>;
   first?: boolean;
   last?: boolean;
+  nextCursor?: string;
   number?: number;
   size?: number;
   totalElements?: number;
@@ -7,6 +7,7 @@ export interface PageResponseBorrowedBookResponse {
   content?: Array<BorrowedBookResponse>;
   first?: boolean;
   last?: boolean;
+  nextCursor?: string;
   number?: number;
   size?: number;
   totalElements?: number;
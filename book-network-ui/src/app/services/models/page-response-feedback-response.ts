@@ -7,6 +7,7 @@ export interface PageResponseFeedbackResponse {
   content?: Array<FeedbackResponse>;
   first?: boolean;
   last?: boolean;
+  nextCursor?: string;
   number?: number;
   size?: number;
   totalElements?: number;
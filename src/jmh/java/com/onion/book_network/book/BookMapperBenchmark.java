@@ -0,0 +1,81 @@
+package com.onion.book_network.book;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.onion.book_network.user.User;
+
+/**
+ * Cost of mapping one catalog entry, from the entity and from the listing projection,
+ * with and without a cover. Covers are served by their own endpoint, so no file is read here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookMapperBenchmark {
+
+    private static final String COVER_HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    private final BookMapper bookMapper = new BookMapper();
+
+    private Book bookWithCover;
+    private Book bookWithoutCover;
+    private BookListing listingWithCover;
+
+    @Setup
+    public void setUp() {
+        User owner = User.builder().id(1).firstName("Jane").lastName("Doe").build();
+        bookWithCover = book(owner, "uploads/users/1/cover.jpg", COVER_HASH);
+        bookWithoutCover = book(owner, null, null);
+        listingWithCover = new BookListing(
+                42, "Effective Java", "Joshua Bloch", "9780134685991", "Synopsis",
+                "uploads/users/1/cover.jpg", COVER_HASH, false, true,
+                "Jane", "Doe", 37.5, 10, LocalDateTime.now()
+        );
+    }
+
+    @Benchmark
+    public BookResponse entityWithCover() {
+        return bookMapper.toBookResponse(bookWithCover);
+    }
+
+    @Benchmark
+    public BookResponse entityWithoutCover() {
+        return bookMapper.toBookResponse(bookWithoutCover);
+    }
+
+    @Benchmark
+    public BookResponse listingWithCover() {
+        return bookMapper.toBookResponse(listingWithCover);
+    }
+
+    private static Book book(User owner, String cover, String coverHash) {
+        return Book.builder()
+                .id(42)
+                .title("Effective Java")
+                .authorName("Joshua Bloch")
+                .isbn("9780134685991")
+                .synopsis("Synopsis")
+                .bookCover(cover)
+                .bookCoverHash(coverHash)
+                .shareable(true)
+                .ratingSum(37.5)
+                .ratingCount(10)
+                .owner(owner)
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.onion.book_network.book;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.onion.book_network.feedback.Feedback;
+
+/**
+ * Book.getRate reads the persisted aggregates. {@code averageOverFeedbacks} reproduces the previous
+ * implementation, which streamed over the whole (already loaded) feedback list on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookRateBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int feedbackCount;
+
+    private Book book;
+
+    @Setup
+    public void setUp() {
+        List<Feedback> feedbacks = new ArrayList<>(feedbackCount);
+        double ratingSum = 0;
+        for (int i = 0; i < feedbackCount; i++) {
+            double note = 1 + i % 5;
+            feedbacks.add(Feedback.builder().note(note).build());
+            ratingSum += note;
+        }
+        book = Book.builder()
+                .feedbacks(feedbacks)
+                .ratingSum(ratingSum)
+                .ratingCount(feedbackCount)
+                .build();
+    }
+
+    @Benchmark
+    public double aggregates() {
+        return book.getRate();
+    }
+
+    @Benchmark
+    public double averageOverFeedbacks() {
+        double rate = book.getFeedbacks().stream()
+                .mapToDouble(Feedback::getNote)
+                .average()
+                .orElse(0.0);
+        return Math.round(rate * 10.0) / 10.0;
+    }
+}
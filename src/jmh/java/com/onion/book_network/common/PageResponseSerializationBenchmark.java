@@ -0,0 +1,96 @@
+package com.onion.book_network.common;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.onion.book_network.book.BookResponse;
+import com.onion.book_network.config.JacksonConfig;
+
+/**
+ * Serializing a catalog page with the ObjectMapper from JacksonConfig, set up the way
+ * Spring Boot builds it (spring.jackson.serialization.write-dates-as-timestamps=false).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageResponseSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PageResponse<BookResponse> offsetPage;
+    private PageResponse<BookResponse> keysetPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper(Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+        List<BookResponse> books = IntStream.range(0, pageSize)
+                .mapToObj(PageResponseSerializationBenchmark::book)
+                .toList();
+        offsetPage = PageResponse.<BookResponse>builder()
+                .content(books)
+                .number(0)
+                .size(pageSize)
+                .totalElements(10_000L)
+                .totalPages(10_000 / pageSize)
+                .first(true)
+                .last(false)
+                .build();
+        keysetPage = PageResponse.<BookResponse>builder()
+                .content(books)
+                .number(0)
+                .size(pageSize)
+                .first(true)
+                .last(false)
+                .nextCursor(new PageCursor(LocalDateTime.now(), pageSize).encode())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] offsetPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(offsetPage);
+    }
+
+    @Benchmark
+    public byte[] keysetPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(keysetPage);
+    }
+
+    private static BookResponse book(int id) {
+        return BookResponse.builder()
+                .id(id)
+                .title("Book " + id)
+                .authorName("Author " + id)
+                .isbn("978013468599" + id % 10)
+                .synopsis("A synopsis long enough to look like the ones users actually write for their books.")
+                .owner("Jane Doe")
+                .coverUrl("/books/cover/" + id + "?v=9f86d081884c7d65")
+                .coverHash("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+                .rate(3.7)
+                .shareable(true)
+                .build();
+    }
+}
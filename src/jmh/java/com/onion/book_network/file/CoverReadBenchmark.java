@@ -0,0 +1,66 @@
+package com.onion.book_network.file;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writing a cover to the response body. {@code readAllBytes} reproduces the previous read path,
+ * a fresh heap copy of the file per request, {@code mapped} writes a slice of the memory-mapped file
+ * as the blob cache does. Run with {@code -prof gc} to compare the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoverReadBenchmark {
+
+    @Param({"65536", "1048576"})
+    private int fileSize;
+
+    private Path file;
+    private ByteBuffer mapped;
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] content = new byte[fileSize];
+        new Random(42).nextBytes(content);
+        file = Files.write(Files.createTempFile("book-network-jmh", ".jpg"), content);
+        mapped = FileUtils.mapFile(file);
+    }
+
+    @Benchmark
+    public void readAllBytes() throws IOException {
+        out.write(Files.readAllBytes(file));
+    }
+
+    @Benchmark
+    public void mapped() throws IOException {
+        FileUtils.write(mapped.slice(), out);
+    }
+
+    @TearDown
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,98 @@
+package com.onion.book_network.file;
+
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Storing an uploaded cover on the local disk. {@code saveNewFile} changes the content on every call
+ * so each upload is written, {@code saveDuplicateFile} measures an upload that is already stored.
+ * Files written during an iteration are deleted after it, so the file system does not fill up over a long run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileStorageServiceBenchmark {
+
+    @Param({"65536", "1048576", "8388608"})
+    private int fileSize;
+
+    private Path uploadDir;
+    private FileStorageService fileStorageService;
+    private byte[] content;
+    private byte[] duplicateContent;
+    private long counter;
+
+    @Setup
+    public void setUp() throws IOException {
+        uploadDir = Files.createTempDirectory("book-network-jmh");
+        fileStorageService = new ContentAddressedFileStorageService(new FileSystemBlobStore(uploadDir),
+                new BlobCache(DataSize.ofMegabytes(64), DataSize.ofMegabytes(1), new SimpleMeterRegistry()),
+                mock(BlobLocks.class));
+        ReflectionTestUtils.setField(fileStorageService, "fileUploadPath", uploadDir.toString());
+        content = new byte[fileSize];
+        new Random(42).nextBytes(content);
+        duplicateContent = content.clone();
+        storeDuplicate();
+    }
+
+    @Benchmark
+    public StoredFile saveNewFile() {
+        // MockMultipartFile copies the content, done for both benchmarks so they stay comparable
+        ByteBuffer.wrap(content).putLong(0, counter++);
+        return fileStorageService.saveFile(new MockMultipartFile("file", "cover.jpg", "image/jpeg", content));
+    }
+
+    @Benchmark
+    public StoredFile saveDuplicateFile() {
+        return storeDuplicate();
+    }
+
+    private StoredFile storeDuplicate() {
+        return fileStorageService.saveFile(new MockMultipartFile("file", "cover.jpg", "image/jpeg", duplicateContent));
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteUploads() throws IOException {
+        try (Stream<Path> paths = Files.walk(uploadDir)) {
+            paths.sorted(Comparator.reverseOrder())
+                    .filter(path -> !path.equals(uploadDir))
+                    .forEach(path -> path.toFile().delete());
+        }
+        storeDuplicate();
+    }
+
+    @TearDown
+    public void deleteUploadDir() throws IOException {
+        Files.deleteIfExists(uploadDir);
+    }
+}
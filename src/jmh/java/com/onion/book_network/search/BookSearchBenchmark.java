@@ -0,0 +1,95 @@
+package com.onion.book_network.search;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * First page of a two-term catalog search against the embedded backends, over a synthetic catalog
+ * of {@code books} documents drawn from a 2000 word vocabulary.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookSearchBenchmark {
+
+    private static final int VOCABULARY = 2000;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+
+    @Param({"memory", "lucene"})
+    private String backend;
+
+    @Param({"10000", "100000"})
+    private int books;
+
+    private BookSearchService searchService;
+    private Path indexPath;
+    private String query;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (backend.equals("lucene")) {
+            indexPath = Files.createTempDirectory("book-network-jmh");
+            searchService = new LuceneBookSearchService(indexPath);
+        } else {
+            searchService = new InMemoryBookSearchService();
+        }
+        Random random = new Random(42);
+        List<BookDocument> documents = new ArrayList<>();
+        for (int id = 1; id <= books; id++) {
+            documents.add(new BookDocument(id, words(random, 3), words(random, 2), null, words(random, 20), false, true));
+            if (documents.size() == 1000) {
+                searchService.index(documents);
+                documents.clear();
+            }
+        }
+        searchService.index(documents);
+        query = "word" + random.nextInt(VOCABULARY) + " word" + random.nextInt(VOCABULARY);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (searchService instanceof LuceneBookSearchService lucene) {
+            lucene.close();
+            try (var files = Files.walk(indexPath)) {
+                files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @Benchmark
+    public Page<Integer> search() {
+        return searchService.search(query, FIRST_PAGE);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : " ").append("word").append(random.nextInt(VOCABULARY));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.onion.book_network.security;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Per-request cost of authenticating a bearer token, as done by the JWT filter, and of issuing one at login.
+ * {@code legacy} reproduces the previous path: extractUsername followed by isTokenValid,
+ * each building a new parser from the Base64 secret and verifying the signature again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final long EXPIRATION = 1000 * 60 * 60;
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET_KEY, EXPIRATION);
+        userDetails = new User(
+                "test@example.com",
+                "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
+        );
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        String username = legacyParse(token).getSubject();
+        return username != null
+                && legacyParse(token).getSubject().equals(userDetails.getUsername())
+                && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean validateOnce() {
+        Claims claims = jwtService.validateToken(token);
+        return jwtService.isTokenValid(claims, userDetails);
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -3,9 +3,11 @@ package com.onion.book_network;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.onion.book_network.role.Role;
 import com.onion.book_network.role.RoleRepository;
@@ -13,6 +15,8 @@ import com.onion.book_network.role.RoleRepository;
 @SpringBootApplication
 @EnableJpaAuditing(auditorAwareRef = "auditorAware")
 @EnableAsync
+@EnableScheduling
+@EnableCaching
 public class BookNetworkApiApplication {
 
     public static final String ROLE_USER = "USER";
@@ -15,12 +15,15 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.onion.book_network.email.EmailService;
 import com.onion.book_network.email.EmailTemplateName;
 import com.onion.book_network.exception.OperationNotPermittedException;
 import com.onion.book_network.role.RoleRepository;
 import com.onion.book_network.security.JwtService;
+import com.onion.book_network.security.UserDetailsServiceImpl;
 import com.onion.book_network.user.Token;
 import com.onion.book_network.user.TokenRepository;
 import com.onion.book_network.user.User;
@@ -42,6 +45,7 @@ public class AuthenticationService {
     private final RoleRepository roleRepository;
     private final EmailService emailService;
     private final TokenRepository tokenRepository;
+    private final UserDetailsServiceImpl userDetailsService;
 
     @Value("${application.mailing.frontend.activation-url}")
     private String activationUrl;
@@ -89,6 +93,7 @@ public class AuthenticationService {
             var claims = new HashMap<String, Object>();
             claims.put("fullName", user.getFullName());
             claims.put("email", user.getEmail());
+            claims.put("id", user.getId());
             
             // Generate token with claims
             var jwtToken = jwtService.generateToken(claims, user);
@@ -121,6 +126,7 @@ public class AuthenticationService {
 
         user.setEnabled(true);
         userRepository.save(user);
+        evictCachedUser(user.getEmail());
 
         savedToken.setValidatedAt(LocalDateTime.now());
         tokenRepository.save(savedToken);
@@ -128,6 +134,24 @@ public class AuthenticationService {
         logger.info("User account activated: {}", user.getEmail());
     }
 
+    /**
+     * Evicts the cached principal once the surrounding transaction commits, so a concurrent
+     * request cannot put the pre-commit state back into the cache.
+     * Call this after any change to a user's enabled/locked flags or roles.
+     */
+    private void evictCachedUser(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userDetailsService.evictUser(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userDetailsService.evictUser(email);
+            }
+        });
+    }
+
     private String generateAndSaveActivationToken(User user) {
         String generatedToken = generateActivationCode(6);
         var token = Token.builder()
@@ -9,14 +9,18 @@ import com.onion.book_network.history.BookTransactionHistory;
 import com.onion.book_network.user.User;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -31,6 +35,12 @@ import lombok.experimental.SuperBuilder;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_book_book_cover", columnList = "bookCover"),
+        // Books of an owner in keyset order, also the entry point of the owner's returned books
+        @Index(name = "idx_book_owner_created", columnList = "owner_id, createdDate DESC, id DESC")
+        // The displayable books index is partial (archived = false), it only exists in the migrations
+})
 public class Book extends BaseEntity {
    
     @NotBlank(message = "Title is required")
@@ -45,10 +55,22 @@ public class Book extends BaseEntity {
     private String synopsis;
     
     private String bookCover;
+
+    private String bookCoverHash;
     
     private boolean archived;
     
     private boolean shareable;
+
+    // Running feedback aggregates, maintained by FeedbackService so ratings never load the feedbacks.
+    // Only the bulk updates of BookRepository write them, flushing a loaded book must not undo a concurrent rating
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private double ratingSum;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private int ratingCount;
     
     @ManyToOne
     @JoinColumn(name = "owner_id")
@@ -66,22 +88,20 @@ public class Book extends BaseEntity {
     
     @Transient
     public double getRate() {
-        if (feedbacks == null || feedbacks.isEmpty()) {
+        return computeRate(ratingSum, ratingCount);
+    }
+
+    // Average rounded to 1 decimal place
+    static double computeRate(double ratingSum, int ratingCount) {
+        if (ratingCount == 0) {
             return 0.0;
         }
-        
-        double rate = feedbacks.stream()
-                .mapToDouble(Feedback::getNote)
-                .average()
-                .orElse(0.0);
-        
-        // Round to 1 decimal place
-        return Math.round(rate * 10.0) / 10.0;
+        return Math.round(ratingSum / ratingCount * 10.0) / 10.0;
     }
     
     @Transient
     public int getTotalFeedbacks() {
-        return feedbacks != null ? feedbacks.size() : 0;
+        return ratingCount;
     }
     
     @Transient
@@ -2,11 +2,20 @@ package com.onion.book_network.book;
 
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -15,9 +24,22 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.onion.book_network.common.PageResponse;
+import com.onion.book_network.common.ResourceVersion;
+import com.onion.book_network.file.BlobMetadata;
+import com.onion.book_network.file.ContentType;
+import com.onion.book_network.file.FileStorageService;
+import com.onion.book_network.file.FileUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("books")
@@ -26,6 +48,7 @@ import com.onion.book_network.common.PageResponse;
 public class BookController {
 
     private final BookService service;
+    private final FileStorageService fileStorageService;
 
     @PostMapping
     public ResponseEntity<BookResponse> saveBook(
@@ -37,45 +60,74 @@ public class BookController {
 
     @GetMapping("/{book-id}")
     public ResponseEntity<BookResponse> findBookById(
-            @PathVariable("book-id") Integer bookId
+            @PathVariable("book-id") Integer bookId,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(service.findById(bookId));
+        // Answered with 304 from the validators alone, the book is only loaded when it changed
+        Optional<ResourceVersion> version = service.findVersion(bookId);
+        if (version.isPresent() && request.checkNotModified(version.get().eTag(), version.get().lastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(service.findById(bookId));
     }
 
     @GetMapping
     public ResponseEntity<PageResponse<BookResponse>> findAllBooks(
             @RequestParam(name = "page", defaultValue = "0", required = false) int page,
             @RequestParam(name = "size", defaultValue = "10", required = false) int size,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "withTotal", defaultValue = "true", required = false) boolean withTotal,
+            @Valid @ModelAttribute BookFilter filter,
+            @RequestParam(name = "sort", defaultValue = "newest", required = false) String sort,
+            @RequestParam(name = BookFieldsResponseAdvice.FIELDS_PARAM, required = false) String fields,
             Authentication connectedUser
     ) {
-        return ResponseEntity.ok(service.findAllBooks(page, size, connectedUser));
+        return ResponseEntity.ok(service.findAllBooks(page, size, after, withTotal, filter, sort, BookField.parse(fields), connectedUser));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<PageResponse<BookResponse>> searchBooks(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "page", defaultValue = "0", required = false) int page,
+            @RequestParam(name = "size", defaultValue = "10", required = false) int size
+    ) {
+        return ResponseEntity.ok(service.searchBooks(query, page, size));
     }
 
     @GetMapping("/owner")
     public ResponseEntity<PageResponse<BookResponse>> findAllBooksByOwner(
             @RequestParam(name = "page", defaultValue = "0", required = false) int page,
             @RequestParam(name = "size", defaultValue = "10", required = false) int size,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "withTotal", defaultValue = "true", required = false) boolean withTotal,
+            @RequestParam(name = BookFieldsResponseAdvice.FIELDS_PARAM, required = false) String fields,
             Authentication connectedUser
     ) {
-        return ResponseEntity.ok(service.findAllBooksByOwner(page, size, connectedUser));
+        return ResponseEntity.ok(service.findAllBooksByOwner(page, size, after, withTotal, BookField.parse(fields), connectedUser));
     }
 
     @GetMapping("/borrowed")
     public ResponseEntity<PageResponse<BorrowedBookResponse>> findAllBorrowedBooks(
             @RequestParam(name = "page", defaultValue = "0", required = false) int page,
             @RequestParam(name = "size", defaultValue = "10", required = false) int size,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "withTotal", defaultValue = "true", required = false) boolean withTotal,
             Authentication connectedUser
     ) {
-        return ResponseEntity.ok(service.findAllBorrowedBooks(page, size, connectedUser));
+        return ResponseEntity.ok(service.findAllBorrowedBooks(page, size, after, withTotal, connectedUser));
     }
 
     @GetMapping("/returned")
     public ResponseEntity<PageResponse<BorrowedBookResponse>> findAllReturnedBooks(
             @RequestParam(name = "page", defaultValue = "0", required = false) int page,
             @RequestParam(name = "size", defaultValue = "10", required = false) int size,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "withTotal", defaultValue = "true", required = false) boolean withTotal,
             Authentication connectedUser
     ) {
-        return ResponseEntity.ok(service.findAllReturnedBooks(page, size, connectedUser));
+        return ResponseEntity.ok(service.findAllReturnedBooks(page, size, after, withTotal, connectedUser));
     }
 
     @PatchMapping("/shareable/{book-id}")
@@ -128,4 +180,100 @@ public class BookController {
         service.uploadBookCoverPicture(file, connectedUser, bookId);
         return ResponseEntity.accepted().build();
     }
+
+    @GetMapping("/cover/{book-id}")
+    public void findBookCover(
+            @PathVariable("book-id") Integer bookId,
+            @RequestParam(name = "v", required = false) String version,
+            @RequestParam(name = "size", required = false) String renditionParam,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        BookCover cover = service.findBookCover(bookId);
+        CoverRendition requested = CoverRendition.fromParam(renditionParam);
+        CoverRendition rendition = null;
+        String key = cover.key();
+        Optional<BlobMetadata> stored = Optional.empty();
+        if (requested != null) {
+            stored = fileStorageService.stat(requested.keyFor(cover.key()));
+            if (stored.isPresent()) {
+                rendition = requested;
+                key = requested.keyFor(cover.key());
+            }
+        }
+        if (stored.isEmpty()) {
+            // Renditions are generated in the background, the original is served until they exist
+            stored = fileStorageService.stat(key);
+        }
+        BlobMetadata metadata = stored
+                .orElseThrow(() -> new EntityNotFoundException("No cover found for book with ID:: " + bookId));
+
+        long size = metadata.size();
+        long lastModified = metadata.lastModified();
+        String suffix = rendition != null ? "-w" + rendition.width() : "";
+        String eTag = cover.hash() != null
+                ? "\"" + cover.hash() + suffix + "\""
+                : "W/\"" + size + "-" + lastModified + "\"";
+        // Versioned URLs never change content, unversioned ones and stand-ins for a missing rendition must be revalidated
+        CacheControl cacheControl = cover.isVersion(version) && rendition == requested
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache().cachePublic();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
+
+        // Only image types are served inline, legacy keys may carry any extension a client uploaded (.html, .svg)
+        ContentType contentType = ContentType.fromKey(key);
+        response.setContentType(contentType.mediaType());
+        if (contentType == ContentType.UNKNOWN) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().build().toString());
+        }
+
+        long offset = 0;
+        long length = size;
+        HttpRange range = singleRange(request, eTag);
+        if (range != null) {
+            offset = range.getRangeStart(size);
+            long end = range.getRangeEnd(size);
+            if (offset >= size) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            length = end - offset + 1;
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + offset + "-" + end + "/" + size);
+        }
+        response.setContentLengthLong(length);
+
+        Optional<Path> coverPath = fileStorageService.localPath(key, metadata);
+        if (coverPath.isPresent()) {
+            FileUtils.transferTo(coverPath.get(), offset, length, request, response);
+        } else {
+            fileStorageService.transferTo(key, offset, length, response.getOutputStream());
+        }
+    }
+
+    /**
+     * Returns the requested byte range, or null to send the whole cover. Multiple ranges are not supported
+     * and answered with the whole cover, as is a range whose If-Range validator no longer matches.
+     */
+    private static HttpRange singleRange(HttpServletRequest request, String eTag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(eTag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
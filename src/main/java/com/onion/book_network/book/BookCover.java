@@ -0,0 +1,23 @@
+package com.onion.book_network.book;
+
+/**
+ * Storage key and content hash of a stored book cover.
+ */
+public record BookCover(
+        String key,
+        String hash
+) {
+
+    private static final int VERSION_LENGTH = 16;
+
+    /**
+     * Short form of the content hash used to version cover URLs.
+     */
+    public static String version(String hash) {
+        return hash.substring(0, Math.min(VERSION_LENGTH, hash.length()));
+    }
+
+    public boolean isVersion(String version) {
+        return hash != null && version != null && version.equals(version(hash));
+    }
+}
@@ -0,0 +1,79 @@
+package com.onion.book_network.book;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import com.onion.book_network.exception.InvalidFilterException;
+
+/**
+ * Properties of {@link BookResponse} a client can ask for with {@code ?fields=}, and the {@link Book} attributes
+ * each one is computed from. {@code id} is always sent.
+ */
+public enum BookField {
+
+    ID("id", "id"),
+    TITLE("title", "title"),
+    AUTHOR_NAME("authorName", "authorName"),
+    ISBN("isbn", "isbn"),
+    SYNOPSIS("synopsis", "synopsis"),
+    // Loaded through the owner join, which is skipped when the field is not requested
+    OWNER("owner"),
+    COVER_URL("coverUrl", "bookCover", "bookCoverHash"),
+    THUMBNAIL_URL("thumbnailUrl", "bookCover", "bookCoverHash"),
+    COVER_HASH("coverHash", "bookCoverHash"),
+    RATE("rate", "ratingSum", "ratingCount"),
+    ARCHIVED("archived", "archived"),
+    SHAREABLE("shareable", "shareable");
+
+    private final String param;
+    private final List<String> attributes;
+
+    BookField(String param, String... attributes) {
+        this.param = param;
+        this.attributes = List.of(attributes);
+    }
+
+    /**
+     * Property name in the response, also the name used in the {@code fields} parameter.
+     */
+    public String param() {
+        return param;
+    }
+
+    List<String> attributes() {
+        return attributes;
+    }
+
+    public static BookField fromParam(String param) {
+        for (BookField field : values()) {
+            if (field.param.equalsIgnoreCase(param)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses a comma separated field list. A missing or blank list asks for every field and yields {@code null}.
+     */
+    public static Set<BookField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<BookField> parsed = EnumSet.of(ID);
+        for (String param : fields.split(",")) {
+            if (param.isBlank()) {
+                continue;
+            }
+            BookField field = fromParam(param.trim());
+            if (field == null) {
+                throw new InvalidFilterException("Unknown field: " + param.trim() + ", expected any of "
+                        + Arrays.stream(values()).map(BookField::param).toList());
+            }
+            parsed.add(field);
+        }
+        return parsed;
+    }
+}
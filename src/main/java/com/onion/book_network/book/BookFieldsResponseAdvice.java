@@ -0,0 +1,67 @@
+package com.onion.book_network.book;
+
+import java.lang.reflect.Parameter;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Serializes only the {@link BookResponse} properties listed in the {@value #FIELDS_PARAM} parameter,
+ * for handler methods that declare it. The service already selected just the columns behind them.
+ */
+@RestControllerAdvice
+public class BookFieldsResponseAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String FIELDS_PARAM = "fields";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return super.supports(returnType, converterType) && declaresFieldsParam(returnType);
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(
+            MappingJacksonValue bodyContainer,
+            MediaType contentType,
+            MethodParameter returnType,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        Set<BookField> fields = BookField.parse(servletRequest.getServletRequest().getParameter(FIELDS_PARAM));
+        if (fields == null) {
+            return;
+        }
+        Set<String> properties = fields.stream().map(BookField::param).collect(Collectors.toSet());
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .addFilter(BookResponse.FIELD_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(properties)));
+    }
+
+    private static boolean declaresFieldsParam(MethodParameter returnType) {
+        if (returnType.getMethod() == null) {
+            return false;
+        }
+        for (Parameter parameter : returnType.getMethod().getParameters()) {
+            RequestParam requestParam = parameter.getAnnotation(RequestParam.class);
+            if (requestParam != null && FIELDS_PARAM.equals(requestParam.name())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.onion.book_network.book;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+
+/**
+ * Optional catalog filters, bound from the query parameters of {@code GET /books}. Dates are inclusive.
+ */
+public record BookFilter(
+        String author,
+        String isbnPrefix,
+        Boolean shareable,
+        @DecimalMin("0") @DecimalMax("5") Double minRating,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo
+) {
+
+    public static final BookFilter NONE = new BookFilter(null, null, null, null, null, null);
+
+    public boolean isEmpty() {
+        return author == null && isbnPrefix == null && shareable == null
+                && minRating == null && createdFrom == null && createdTo == null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.onion.book_network.book;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of a displayable book, loaded together with its owner name
+ * and rating aggregates so a catalog page needs a single query.
+ */
+public record BookListing(
+        Integer id,
+        String title,
+        String authorName,
+        String isbn,
+        String synopsis,
+        String bookCover,
+        String bookCoverHash,
+        boolean archived,
+        boolean shareable,
+        String ownerFirstName,
+        String ownerLastName,
+        double ratingSum,
+        int ratingCount,
+        LocalDateTime createdDate
+) {
+}
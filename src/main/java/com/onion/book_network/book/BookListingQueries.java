@@ -0,0 +1,26 @@
+package com.onion.book_network.book;
+
+import java.util.Set;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * {@link BookListing} rows for any {@link BookSpecification}, loaded with their owner in one statement.
+ * {@code findAll(Specification, Pageable)} would load entities and fetch the owners separately.
+ * <p>
+ * The variants taking {@link BookField}s only select the columns those fields need, the other components of
+ * the listing are left null or zero. {@code id} and {@code createdDate} are always loaded, for keyset cursors.
+ */
+public interface BookListingQueries {
+
+    Slice<BookListing> findListings(Specification<Book> specification, Pageable pageable);
+
+    Slice<BookListing> findListings(Specification<Book> specification, Pageable pageable, Set<BookField> fields);
+
+    Page<BookListing> findListingPage(Specification<Book> specification, Pageable pageable);
+
+    Page<BookListing> findListingPage(Specification<Book> specification, Pageable pageable, Set<BookField> fields);
+}
@@ -0,0 +1,137 @@
+package com.onion.book_network.book;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.onion.book_network.user.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Same projection as {@link BookRepository#BOOK_LISTING}, built with the Criteria API so specifications apply
+ * and only the columns of the requested {@link BookField}s are selected.
+ */
+@RequiredArgsConstructor
+class BookListingQueriesImpl implements BookListingQueries {
+
+    private static final String ID = "id";
+    private static final String CREATED_DATE = "createdDate";
+    private static final String OWNER_FIRST_NAME = "ownerFirstName";
+    private static final String OWNER_LAST_NAME = "ownerLastName";
+
+    private static final Set<BookField> ALL_FIELDS = EnumSet.allOf(BookField.class);
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Slice<BookListing> findListings(Specification<Book> specification, Pageable pageable) {
+        return findListings(specification, pageable, ALL_FIELDS);
+    }
+
+    @Override
+    public Slice<BookListing> findListings(Specification<Book> specification, Pageable pageable, Set<BookField> fields) {
+        // One extra row tells whether a next slice exists, without counting
+        List<BookListing> content = listingQuery(specification, pageable, pageable.getPageSize() + 1, fields);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public Page<BookListing> findListingPage(Specification<Book> specification, Pageable pageable) {
+        return findListingPage(specification, pageable, ALL_FIELDS);
+    }
+
+    @Override
+    public Page<BookListing> findListingPage(Specification<Book> specification, Pageable pageable, Set<BookField> fields) {
+        List<BookListing> content = listingQuery(specification, pageable, pageable.getPageSize(), fields);
+        return new PageImpl<>(content, pageable, count(specification));
+    }
+
+    private List<BookListing> listingQuery(
+            Specification<Book> specification,
+            Pageable pageable,
+            int maxResults,
+            Set<BookField> fields
+    ) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Book> book = query.from(Book.class);
+        Set<String> attributes = new LinkedHashSet<>(List.of(ID, CREATED_DATE));
+        fields.forEach(field -> attributes.addAll(field.attributes()));
+        List<Selection<?>> selections = new ArrayList<>();
+        attributes.forEach(attribute -> selections.add(book.get(attribute).alias(attribute)));
+        if (fields.contains(BookField.OWNER)) {
+            Join<Book, User> owner = book.join("owner", JoinType.LEFT);
+            selections.add(owner.get("firstName").alias(OWNER_FIRST_NAME));
+            selections.add(owner.get("lastName").alias(OWNER_LAST_NAME));
+        }
+        query.multiselect(selections);
+        Predicate predicate = specification.toPredicate(book, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), book, criteriaBuilder));
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(maxResults)
+                .getResultStream()
+                .map(BookListingQueriesImpl::toListing)
+                .toList();
+    }
+
+    private static BookListing toListing(Tuple tuple) {
+        Map<String, Object> values = new HashMap<>();
+        tuple.getElements().forEach(element -> values.put(element.getAlias(), tuple.get(element)));
+        return new BookListing(
+                (Integer) values.get(ID),
+                (String) values.get("title"),
+                (String) values.get("authorName"),
+                (String) values.get("isbn"),
+                (String) values.get("synopsis"),
+                (String) values.get("bookCover"),
+                (String) values.get("bookCoverHash"),
+                Boolean.TRUE.equals(values.get("archived")),
+                Boolean.TRUE.equals(values.get("shareable")),
+                (String) values.get(OWNER_FIRST_NAME),
+                (String) values.get(OWNER_LAST_NAME),
+                values.get("ratingSum") instanceof Number ratingSum ? ratingSum.doubleValue() : 0,
+                values.get("ratingCount") instanceof Number ratingCount ? ratingCount.intValue() : 0,
+                (LocalDateTime) values.get(CREATED_DATE)
+        );
+    }
+
+    private long count(Specification<Book> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Book> book = query.from(Book.class);
+        query.select(criteriaBuilder.count(book));
+        Predicate predicate = specification.toPredicate(book, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -3,12 +3,15 @@ package com.onion.book_network.book;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import com.onion.book_network.file.FileUtils;
 import com.onion.book_network.history.BookTransactionHistory;
 
 @Service
 @Slf4j
 public class BookMapper {
+
+    static final String COVER_PATH = "/books/cover/";
+    private static final CoverRendition THUMBNAIL = CoverRendition.SMALL;
+
     public Book toBook(BookRequest request) {
         return Book.builder()
                 .id(request.id())
@@ -30,14 +33,7 @@ public class BookMapper {
         if (book.getOwner() != null) {
             ownerName = book.getOwner().getFirstName() + " " + book.getOwner().getLastName();
         }
-    
-        byte[] coverBytes = null; // declare outside try
-        try {
-            coverBytes = FileUtils.readFileFromLocation(book.getBookCover());
-        } catch (Exception e) {
-            log.warn("Could not load book cover for book id: " + book.getId(), e);
-        }
-    
+
         return BookResponse.builder()
                 .id(book.getId())
                 .title(book.getTitle())
@@ -48,10 +44,62 @@ public class BookMapper {
                 .archived(book.isArchived())
                 .shareable(book.isShareable())
                 .owner(ownerName)
-                .cover(coverBytes)  // assign byte[] directly
+                .coverUrl(toCoverUrl(book.getId(), book.getBookCover(), book.getBookCoverHash()))
+                .thumbnailUrl(toCoverUrl(book.getId(), book.getBookCover(), book.getBookCoverHash(), THUMBNAIL))
+                .coverHash(book.getBookCoverHash())
                 .message(message)   // set custom message
                 .build();
-    }    
+    }
+
+    public BookResponse toBookResponse(BookListing listing) {
+        String ownerName = null;
+        if (listing.ownerFirstName() != null || listing.ownerLastName() != null) {
+            ownerName = listing.ownerFirstName() + " " + listing.ownerLastName();
+        }
+
+        return BookResponse.builder()
+                .id(listing.id())
+                .title(listing.title())
+                .authorName(listing.authorName())
+                .isbn(listing.isbn())
+                .synopsis(listing.synopsis())
+                .rate(Book.computeRate(listing.ratingSum(), listing.ratingCount()))
+                .archived(listing.archived())
+                .shareable(listing.shareable())
+                .owner(ownerName)
+                .coverUrl(toCoverUrl(listing.id(), listing.bookCover(), listing.bookCoverHash()))
+                .thumbnailUrl(toCoverUrl(listing.id(), listing.bookCover(), listing.bookCoverHash(), THUMBNAIL))
+                .coverHash(listing.bookCoverHash())
+                .build();
+    }
+
+    /**
+     * Builds the path of the cover endpoint, relative to the API root.
+     * The content hash is appended as a version so clients can cache the image indefinitely.
+     */
+    public String toCoverUrl(Integer bookId, String bookCover, String bookCoverHash) {
+        return toCoverUrl(bookId, bookCover, bookCoverHash, null);
+    }
+
+    /**
+     * Same as {@link #toCoverUrl(Integer, String, String)} for one of the cover renditions,
+     * or the original cover when {@code rendition} is null.
+     */
+    public String toCoverUrl(Integer bookId, String bookCover, String bookCoverHash, CoverRendition rendition) {
+        if (bookCover == null || bookCover.isBlank()) {
+            return null;
+        }
+        String coverUrl = COVER_PATH + bookId;
+        String separator = "?";
+        if (bookCoverHash != null) {
+            coverUrl += separator + "v=" + BookCover.version(bookCoverHash);
+            separator = "&";
+        }
+        if (rendition != null) {
+            coverUrl += separator + "size=" + rendition.param();
+        }
+        return coverUrl;
+    }
 
     public BorrowedBookResponse toBorrowedBookResponse(BookTransactionHistory history) {
         return BorrowedBookResponse.builder()
@@ -0,0 +1,32 @@
+package com.onion.book_network.book;
+
+import java.time.LocalDateTime;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One-shot job recomputing the rating aggregates of every book from its feedbacks. The V6 migration
+ * already fills them when upgrading an existing database, run this if they ever drift, then switch it off again.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "application.jobs.rating-backfill.enabled", havingValue = "true")
+public class BookRatingBackfill implements ApplicationRunner {
+
+    private final BookRepository bookRepository;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        int updatedBooks = bookRepository.recomputeRatings(LocalDateTime.now());
+        log.info("Rating backfill recomputed aggregates for {} books", updatedBooks);
+    }
+}
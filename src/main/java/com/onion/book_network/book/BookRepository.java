@@ -2,15 +2,140 @@ package com.onion.book_network.book;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface BookRepository extends JpaRepository<Book, Integer>, JpaSpecificationExecutor<Book> {
-    @Query("""
-            SELECT book
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface BookRepository extends JpaRepository<Book, Integer>, JpaSpecificationExecutor<Book>, BookListingQueries {
+
+    String BOOK_LISTING = """
+            SELECT new com.onion.book_network.book.BookListing(
+                book.id, book.title, book.authorName, book.isbn, book.synopsis,
+                book.bookCover, book.bookCoverHash, book.archived, book.shareable,
+                owner.firstName, owner.lastName, book.ratingSum, book.ratingCount, book.createdDate
+            )
             FROM Book book
+            LEFT JOIN book.owner owner
+            """;
+
+    // Keyset predicate and ordering shared by the "...After" queries, see PageCursor
+    String AFTER_CURSOR = """
+            AND (book.createdDate, book.id) < (:cursorDate, :cursorId)
+            """;
+    String KEYSET_ORDER = """
+            ORDER BY book.createdDate DESC, book.id DESC
+            """;
+
+    @Query(value = BOOK_LISTING + """
+            WHERE book.archived = false
+            """,
+            countQuery = """
+            SELECT COUNT(book)
+            FROM Book book
+            WHERE book.archived = false
+            """)
+    Page<BookListing> findAllDisplayableBooks(Pageable pageable, Integer userId);
+
+    @Query(BOOK_LISTING + """
             WHERE book.archived = false
+            """ + KEYSET_ORDER)
+    Slice<BookListing> findDisplayableBooks(Pageable pageable);
+
+    @Query(BOOK_LISTING + """
+            WHERE book.archived = false
+            """ + AFTER_CURSOR + KEYSET_ORDER)
+    Slice<BookListing> findDisplayableBooksAfter(
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Integer cursorId,
+            Pageable pageable
+    );
+
+    @Query(BOOK_LISTING + """
+            WHERE owner.id = :ownerId
+            """ + KEYSET_ORDER)
+    Slice<BookListing> findBooksByOwner(@Param("ownerId") Integer ownerId, Pageable pageable);
+
+    @Query(BOOK_LISTING + """
+            WHERE owner.id = :ownerId
+            """ + AFTER_CURSOR + KEYSET_ORDER)
+    Slice<BookListing> findBooksByOwnerAfter(
+            @Param("ownerId") Integer ownerId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Integer cursorId,
+            Pageable pageable
+    );
+
+    // Search hits, in no particular order
+    @Query(BOOK_LISTING + """
+            WHERE book.id IN :bookIds
+            AND book.archived = false
+            """)
+    List<BookListing> findDisplayableBooksByIds(@Param("bookIds") Collection<Integer> bookIds);
+
+    /**
+     * Locks the book row ({@code SELECT ... FOR UPDATE}) until the transaction ends, so state transitions
+     * on one book are serialized across all application instances. Reads that depend on the lock must be
+     * separate statements issued afterwards: a statement sees the data as of its start, before it waited.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("""
+            SELECT book.id
+            FROM Book book
+            WHERE book.id = :bookId
+            """)
+    Optional<Integer> lockById(@Param("bookId") Integer bookId);
+
+    @Query("""
+            SELECT new com.onion.book_network.book.BookCover(book.bookCover, book.bookCoverHash)
+            FROM Book book
+            WHERE book.id = :bookId
+            """)
+    Optional<BookCover> findCoverById(@Param("bookId") Integer bookId);
+
+    @Query("""
+            SELECT new com.onion.book_network.book.BookVersion(
+                book.id, book.createdDate, book.lastModifiedDate, book.ratingCount, owner.lastModifiedDate
+            )
+            FROM Book book
+            LEFT JOIN book.owner owner
+            WHERE book.id = :bookId
+            """)
+    Optional<BookVersion> findVersionById(@Param("bookId") Integer bookId);
+
+    // Covers are shared between books with the same image, see BookService.uploadBookCoverPicture
+    long countByBookCover(String bookCover);
+
+    // Bulk updates bypass auditing, callers pass the JVM time it would have set, see BookVersion
+    @Modifying
+    @Query("""
+            UPDATE Book book
+            SET book.ratingSum = book.ratingSum + :note,
+                book.ratingCount = book.ratingCount + 1,
+                book.lastModifiedDate = :modifiedAt
+            WHERE book.id = :bookId
+            """)
+    int addRating(@Param("bookId") Integer bookId, @Param("note") double note, @Param("modifiedAt") LocalDateTime modifiedAt);
+
+    @Modifying
+    @Query("""
+            UPDATE Book book
+            SET book.ratingSum = COALESCE((SELECT SUM(feedback.note) FROM Feedback feedback WHERE feedback.book = book), 0),
+                book.ratingCount = (SELECT COUNT(feedback) FROM Feedback feedback WHERE feedback.book = book),
+                book.lastModifiedDate = :modifiedAt
             """)
-    Page<Book> findAllDisplayableBooks(Pageable pageable, Integer userId);
+    int recomputeRatings(@Param("modifiedAt") LocalDateTime modifiedAt);
 }
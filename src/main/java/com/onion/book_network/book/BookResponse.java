@@ -1,5 +1,7 @@
 package com.onion.book_network.book;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -11,15 +13,22 @@ import lombok.Setter;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+// Restricted to the requested properties by BookFieldsResponseAdvice, all of them are sent otherwise
+@JsonFilter(BookResponse.FIELD_FILTER)
 public class BookResponse {
 
+    public static final String FIELD_FILTER = "bookFields";
+
     private Integer id;
     private String title;
     private String authorName;
     private String isbn;
     private String synopsis;
     private String owner;
-    private byte[] cover;
+    private String coverUrl;
+    // Smallest cover rendition, for catalog cards
+    private String thumbnailUrl;
+    private String coverHash;
     private double rate;
     private boolean archived;
     private boolean shareable;
@@ -8,17 +8,37 @@ import org.springframework.data.domain.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.onion.book_network.common.PageCursor;
 import com.onion.book_network.common.PageResponse;
+import com.onion.book_network.common.ResourceVersion;
+import com.onion.book_network.exception.InvalidFilterException;
 import com.onion.book_network.exception.OperationNotPermittedException;
+import com.onion.book_network.file.BlobLocks;
 import com.onion.book_network.file.FileStorageService;
+import com.onion.book_network.file.StoredFile;
+import com.onion.book_network.history.BookLoanStatus;
 import com.onion.book_network.history.BookTransactionHistory;
 import com.onion.book_network.history.BookTransactionHistoryRepository;
+import com.onion.book_network.search.BookSearchOutbox;
+import com.onion.book_network.search.BookSearchOutboxRepository;
+import com.onion.book_network.search.BookSearchService;
+import com.onion.book_network.security.AuthenticatedUser;
 import com.onion.book_network.user.User;
+import com.onion.book_network.user.UserRepository;
 
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,12 +49,19 @@ public class BookService {
     private final BookRepository bookRepository;
     private final BookTransactionHistoryRepository transactionHistoryRepository;
     private final FileStorageService fileStorageService;
+    private final BlobLocks blobLocks;
+    private final CoverRenditionService coverRenditionService;
+    private final UserRepository userRepository;
+    private final BookSearchService bookSearchService;
+    private final BookSearchOutboxRepository searchOutboxRepository;
 
+    @Transactional
     public BookResponse save(BookRequest request, Authentication connectedUser) {
-        User user = getCurrentUser(connectedUser);
+        AuthenticatedUser user = getCurrentUser(connectedUser);
         Book book = bookMapper.toBook(request);
-        book.setOwner(user);
+        book.setOwner(loadUser(user));
         Book savedBook = bookRepository.save(book);
+        updateSearchIndex(savedBook.getId());
         return bookMapper.toBookResponse(
             savedBook, 
             "Book created successfully with id: " + savedBook.getId()
@@ -54,186 +81,342 @@ public class BookService {
                 .orElseThrow(() -> new EntityNotFoundException("No book found with ID: " + bookId));
     }
 
+    // Validators of findById, read without loading or mapping the book
     @Transactional(readOnly = true)
-    public PageResponse<BookResponse> findAllBooks(int page, int size, Authentication connectedUser) {
+    public Optional<ResourceVersion> findVersion(Integer bookId) {
+        return bookRepository.findVersionById(bookId).map(BookVersion::book);
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<BookResponse> findAllBooks(int page, int size, String after, boolean withTotal,
+                                                   BookFilter filter, String sort, Set<BookField> fields,
+                                                   Authentication connectedUser) {
+        AuthenticatedUser user = getCurrentUser(connectedUser);
+        BookSort bookSort = BookSort.fromParam(sort);
+        if (bookSort == null) {
+            throw new InvalidFilterException("Unknown sort: " + sort + ", expected one of " + BookSort.params());
+        }
+        if (after != null && bookSort != BookSort.NEWEST) {
+            throw new InvalidFilterException("Cursor paging only supports sort=" + BookSort.NEWEST.param());
+        }
+        if (!filter.isEmpty() || bookSort != BookSort.NEWEST || fields != null) {
+            Specification<Book> specification = BookSpecification.isDisplayable().and(BookSpecification.matching(filter));
+            return findListings(specification, page, size, after, withTotal, bookSort, fields);
+        }
+        // Owner name and rating come back with the page, mapping triggers no further queries
+        if (after != null) {
+            PageCursor cursor = PageCursor.decode(after);
+            Slice<BookListing> books = cursor == null
+                    ? bookRepository.findDisplayableBooks(buildKeysetPageable(size))
+                    : bookRepository.findDisplayableBooksAfter(cursor.createdDate(), cursor.id(), buildKeysetPageable(size));
+            return PageResponse.ofKeyset(books, cursor == null, bookMapper::toBookResponse, BookService::toCursor);
+        }
+        if (!withTotal) {
+            Slice<BookListing> books = bookRepository.findDisplayableBooks(buildSlicePageable(page, size));
+            return PageResponse.of(books, bookMapper::toBookResponse);
+        }
         Pageable pageable = buildPageable(page, size);
-        User user = getCurrentUser(connectedUser);
-        Page<Book> books = bookRepository.findAllDisplayableBooks(pageable, user.getId());
-        
-        // Initialize any required lazy-loaded collections
-        List<Book> booksList = books.getContent();
-        if (!booksList.isEmpty()) {
-            // This will initialize the owner for each book
-            booksList.forEach(book -> {
-                if (book.getOwner() != null) {
-                    book.getOwner().getFirstName(); // Trigger lazy loading
-                }
-            });
+        Page<BookListing> books = bookRepository.findAllDisplayableBooks(pageable, user.getId());
+        return PageResponse.of(books, bookMapper::toBookResponse);
+    }
+
+    // Filtered and sparse listings go through the Criteria fragment, same projection and paging modes as the fixed queries
+    private PageResponse<BookResponse> findListings(Specification<Book> specification, int page, int size, String after,
+                                                    boolean withTotal, BookSort sort, Set<BookField> fields) {
+        Set<BookField> selected = fields != null ? fields : EnumSet.allOf(BookField.class);
+        if (after != null) {
+            PageCursor cursor = PageCursor.decode(after);
+            if (cursor != null) {
+                specification = specification.and(BookSpecification.after(cursor));
+            }
+            Slice<BookListing> books = bookRepository.findListings(specification, PageRequest.of(0, size, sort.sort()), selected);
+            return PageResponse.ofKeyset(books, cursor == null, bookMapper::toBookResponse, BookService::toCursor);
         }
-        
-        List<BookResponse> booksResponse = booksList.stream()
-                .map(bookMapper::toBookResponse)
-                .toList();
-        return new PageResponse<>(booksResponse, books.getNumber(), books.getSize(),
-                books.getTotalElements(), books.getTotalPages(), books.isFirst(), books.isLast());
+        Pageable pageable = PageRequest.of(page, size, sort.sort());
+        if (!withTotal) {
+            return PageResponse.of(bookRepository.findListings(specification, pageable, selected), bookMapper::toBookResponse);
+        }
+        return PageResponse.of(bookRepository.findListingPage(specification, pageable, selected), bookMapper::toBookResponse);
     }
 
-    public PageResponse<BookResponse> findAllBooksByOwner(int page, int size, Authentication connectedUser) {
-        Pageable pageable = buildPageable(page, size);
-        User user = getCurrentUser(connectedUser);
-        Page<Book> books = bookRepository.findAll(withOwnerId(user.getId()), pageable);
-        List<BookResponse> booksResponse = books.stream()
-                .map(bookMapper::toBookResponse)
-                .toList();
-        return new PageResponse<>(booksResponse, books.getNumber(), books.getSize(),
-                books.getTotalElements(), books.getTotalPages(), books.isFirst(), books.isLast());
+    public PageResponse<BookResponse> findAllBooksByOwner(int page, int size, String after, boolean withTotal,
+                                                          Set<BookField> fields, Authentication connectedUser) {
+        AuthenticatedUser user = getCurrentUser(connectedUser);
+        if (fields != null) {
+            return findListings(BookSpecification.withOwnerId(user.getId()), page, size, after, withTotal, BookSort.NEWEST, fields);
+        }
+        if (after != null) {
+            PageCursor cursor = PageCursor.decode(after);
+            Slice<BookListing> books = cursor == null
+                    ? bookRepository.findBooksByOwner(user.getId(), buildKeysetPageable(size))
+                    : bookRepository.findBooksByOwnerAfter(user.getId(), cursor.createdDate(), cursor.id(), buildKeysetPageable(size));
+            return PageResponse.ofKeyset(books, cursor == null, bookMapper::toBookResponse, BookService::toCursor);
+        }
+        if (!withTotal) {
+            Slice<BookListing> books = bookRepository.findBooksByOwner(user.getId(), buildSlicePageable(page, size));
+            return PageResponse.of(books, bookMapper::toBookResponse);
+        }
+        Pageable pageable = PageRequest.of(page, size, BookSort.NEWEST.sort());
+        Page<BookListing> books = bookRepository.findListingPage(BookSpecification.withOwnerId(user.getId()), pageable);
+        return PageResponse.of(books, bookMapper::toBookResponse);
     }
 
-    public PageResponse<BorrowedBookResponse> findAllBorrowedBooks(int page, int size, Authentication connectedUser) {
-        User user = getCurrentUser(connectedUser);
+    public PageResponse<BorrowedBookResponse> findAllBorrowedBooks(int page, int size, String after, boolean withTotal, Authentication connectedUser) {
+        AuthenticatedUser user = getCurrentUser(connectedUser);
+        if (after != null) {
+            PageCursor cursor = PageCursor.decode(after);
+            Slice<BookTransactionHistory> borrowedBooks = cursor == null
+                    ? transactionHistoryRepository.findBorrowedBooks(user.getId(), buildKeysetPageable(size))
+                    : transactionHistoryRepository.findBorrowedBooksAfter(user.getId(), cursor.createdDate(), cursor.id(), buildKeysetPageable(size));
+            return PageResponse.ofKeyset(borrowedBooks, cursor == null, bookMapper::toBorrowedBookResponse, BookService::toCursor);
+        }
+        if (!withTotal) {
+            Slice<BookTransactionHistory> borrowedBooks = transactionHistoryRepository.findBorrowedBooks(user.getId(), buildSlicePageable(page, size));
+            return PageResponse.of(borrowedBooks, bookMapper::toBorrowedBookResponse);
+        }
         Pageable pageable = buildPageable(page, size);
         Page<BookTransactionHistory> allBorrowedBooks = transactionHistoryRepository.findAllBorrowedBooks(pageable, user.getId());
-        List<BorrowedBookResponse> booksResponse = allBorrowedBooks.stream()
-                .map(bookMapper::toBorrowedBookResponse)
-                .toList();
-        return new PageResponse<>(booksResponse,
-                allBorrowedBooks.getNumber(),
-                allBorrowedBooks.getSize(),
-                allBorrowedBooks.getTotalElements(),
-                allBorrowedBooks.getTotalPages(),
-                allBorrowedBooks.isFirst(),
-                allBorrowedBooks.isLast());
+        return PageResponse.of(allBorrowedBooks, bookMapper::toBorrowedBookResponse);
     }
 
-    public PageResponse<BorrowedBookResponse> findAllReturnedBooks(int page, int size, Authentication connectedUser) {
-        User user = getCurrentUser(connectedUser);
+    public PageResponse<BorrowedBookResponse> findAllReturnedBooks(int page, int size, String after, boolean withTotal, Authentication connectedUser) {
+        AuthenticatedUser user = getCurrentUser(connectedUser);
+        if (after != null) {
+            PageCursor cursor = PageCursor.decode(after);
+            Slice<BookTransactionHistory> returnedBooks = cursor == null
+                    ? transactionHistoryRepository.findReturnedBooks(user.getId(), buildKeysetPageable(size))
+                    : transactionHistoryRepository.findReturnedBooksAfter(user.getId(), cursor.createdDate(), cursor.id(), buildKeysetPageable(size));
+            return PageResponse.ofKeyset(returnedBooks, cursor == null, bookMapper::toBorrowedBookResponse, BookService::toCursor);
+        }
+        if (!withTotal) {
+            Slice<BookTransactionHistory> returnedBooks = transactionHistoryRepository.findReturnedBooks(user.getId(), buildSlicePageable(page, size));
+            return PageResponse.of(returnedBooks, bookMapper::toBorrowedBookResponse);
+        }
         Pageable pageable = buildPageable(page, size);
         Page<BookTransactionHistory> allReturnedBooks = transactionHistoryRepository.findAllReturnedBooks(pageable, user.getId());
-        List<BorrowedBookResponse> booksResponse = allReturnedBooks.stream()
-                .map(bookMapper::toBorrowedBookResponse)
+        return PageResponse.of(allReturnedBooks, bookMapper::toBorrowedBookResponse);
+    }
+
+    /**
+     * Hits come from the search index, the books themselves from the database in a single query.
+     * The index trails the database by the outbox poll interval, hits archived or deleted since are dropped.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<BookResponse> searchBooks(String query, int page, int size) {
+        Pageable pageable = buildSlicePageable(page, size);
+        if (query == null || query.isBlank()) {
+            return PageResponse.of(Page.<BookListing>empty(pageable), bookMapper::toBookResponse);
+        }
+        Page<Integer> hits = bookSearchService.search(query.trim(), pageable);
+        Map<Integer, BookListing> listings = bookRepository.findDisplayableBooksByIds(hits.getContent()).stream()
+                .collect(Collectors.toMap(BookListing::id, Function.identity()));
+        List<BookListing> books = hits.getContent().stream()
+                .map(listings::get)
+                .filter(Objects::nonNull)
                 .toList();
-        return new PageResponse<>(booksResponse,
-                allReturnedBooks.getNumber(),
-                allReturnedBooks.getSize(),
-                allReturnedBooks.getTotalElements(),
-                allReturnedBooks.getTotalPages(),
-                allReturnedBooks.isFirst(),
-                allReturnedBooks.isLast());
+        return PageResponse.of(new PageImpl<>(books, pageable, hits.getTotalElements()), bookMapper::toBookResponse);
     }
 
+    @Transactional
     public Integer updateShareableStatus(Integer bookId, Authentication connectedUser) {
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new EntityNotFoundException("No book found with ID:: " + bookId));
-        User user = getCurrentUser(connectedUser);
+        AuthenticatedUser user = getCurrentUser(connectedUser);
         if (!Objects.equals(book.getOwner().getId(), user.getId())) {
             throw new OperationNotPermittedException("You cannot update others books shareable status");
         }
         book.setShareable(!book.isShareable());
         bookRepository.save(book);
+        updateSearchIndex(bookId);
         return bookId;
     }
 
+    @Transactional
     public Integer updateArchivedStatus(Integer bookId, Authentication connectedUser) {
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new EntityNotFoundException("No book found with ID:: " + bookId));
-        User user = getCurrentUser(connectedUser);
+        AuthenticatedUser user = getCurrentUser(connectedUser);
         if (!Objects.equals(book.getOwner().getId(), user.getId())) {
             throw new OperationNotPermittedException("You cannot update others books archived status");
         }
         book.setArchived(!book.isArchived());
         bookRepository.save(book);
+        updateSearchIndex(bookId);
         return bookId;
     }
 
+    // Committed together with the change, BookSearchOutboxRelay applies it to the index afterwards
+    private void updateSearchIndex(Integer bookId) {
+        searchOutboxRepository.save(BookSearchOutbox.builder().bookId(bookId).build());
+    }
+
+    /**
+     * The book row stays locked until the loan is committed, so concurrent borrowers of the same book
+     * are checked one after the other and only the first one gets it.
+     */
+    @Transactional
     public Integer borrowBook(Integer bookId, Authentication connectedUser) {
-        Book book = bookRepository.findById(bookId)
+        AuthenticatedUser user = getCurrentUser(connectedUser);
+        bookRepository.lockById(bookId)
                 .orElseThrow(() -> new EntityNotFoundException("No book found with ID:: " + bookId));
-        if (book.isArchived() || !book.isShareable()) {
+        BookLoanStatus status = findLoanStatus(bookId, user);
+        if (!status.isAvailableForSharing()) {
             throw new OperationNotPermittedException("The requested book cannot be borrowed since it is archived or not shareable");
         }
-        User user = getCurrentUser(connectedUser);
-        if (Objects.equals(book.getOwner().getId(), user.getId())) {
+        if (Objects.equals(status.ownerId(), user.getId())) {
             throw new OperationNotPermittedException("You cannot borrow your own book");
         }
-        final boolean isAlreadyBorrowedByUser = transactionHistoryRepository.isAlreadyBorrowedByUser(bookId, user.getId());
-        if (isAlreadyBorrowedByUser) {
+        if (status.isBorrowedByUser()) {
             throw new OperationNotPermittedException("You already borrowed this book and it is still not returned or the return is not approved by the owner");
         }
-
-        final boolean isAlreadyBorrowedByOtherUser = transactionHistoryRepository.isAlreadyBorrowed(bookId);
-        if (isAlreadyBorrowedByOtherUser) {
+        if (status.isBorrowed()) {
             throw new OperationNotPermittedException("The requested book is already borrowed");
         }
 
         BookTransactionHistory bookTransactionHistory = BookTransactionHistory.builder()
-                .user(user)
-                .book(book)
+                .user(loadUser(user))
+                .book(bookRepository.getReferenceById(bookId))
                 .returned(false)
                 .returnApproved(false)
                 .build();
         return transactionHistoryRepository.save(bookTransactionHistory).getId();
     }
 
+    @Transactional
     public Integer returnBorrowedBook(Integer bookId, Authentication connectedUser) {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new EntityNotFoundException("No book found with ID:: " + bookId));
-        if (book.isArchived() || !book.isShareable()) {
+        AuthenticatedUser user = getCurrentUser(connectedUser);
+        BookLoanStatus status = findLoanStatus(bookId, user);
+        if (!status.isAvailableForSharing()) {
             throw new OperationNotPermittedException("The requested book is archived or not shareable");
         }
-        User user = getCurrentUser(connectedUser);
-        if (Objects.equals(book.getOwner().getId(), user.getId())) {
+        if (Objects.equals(status.ownerId(), user.getId())) {
             throw new OperationNotPermittedException("You cannot borrow or return your own book");
         }
-
-        BookTransactionHistory bookTransactionHistory = transactionHistoryRepository.findByBookIdAndUserId(bookId, user.getId())
-                .orElseThrow(() -> new OperationNotPermittedException("You did not borrow this book"));
-
-        bookTransactionHistory.setReturned(true);
-        return transactionHistoryRepository.save(bookTransactionHistory).getId();
+        // The update re-checks the loan state, a concurrent return of the same loan finds nothing to update
+        if (status.userLoanId() == null || transactionHistoryRepository.markReturned(status.userLoanId(), user.getId(), LocalDateTime.now()) == 0) {
+            throw new OperationNotPermittedException("You did not borrow this book");
+        }
+        return status.userLoanId();
     }
 
+    @Transactional
     public Integer approveReturnBorrowedBook(Integer bookId, Authentication connectedUser) {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new EntityNotFoundException("No book found with ID:: " + bookId));
-        if (book.isArchived() || !book.isShareable()) {
+        AuthenticatedUser user = getCurrentUser(connectedUser);
+        BookLoanStatus status = findLoanStatus(bookId, user);
+        if (!status.isAvailableForSharing()) {
             throw new OperationNotPermittedException("The requested book is archived or not shareable");
         }
-        User user = getCurrentUser(connectedUser);
-        if (!Objects.equals(book.getOwner().getId(), user.getId())) {
+        if (!Objects.equals(status.ownerId(), user.getId())) {
             throw new OperationNotPermittedException("You cannot approve the return of a book you do not own");
         }
+        if (status.pendingReturnId() == null
+                || transactionHistoryRepository.markReturnApproved(status.pendingReturnId(), user.getId(), LocalDateTime.now()) == 0) {
+            throw new OperationNotPermittedException("The book is not returned yet. You cannot approve its return");
+        }
+        return status.pendingReturnId();
+    }
 
-        BookTransactionHistory bookTransactionHistory = transactionHistoryRepository.findByBookIdAndOwnerId(bookId, user.getId())
-                .orElseThrow(() -> new OperationNotPermittedException("The book is not returned yet. You cannot approve its return"));
-
-        bookTransactionHistory.setReturnApproved(true);
-        return transactionHistoryRepository.save(bookTransactionHistory).getId();
+    private BookLoanStatus findLoanStatus(Integer bookId, AuthenticatedUser user) {
+        return transactionHistoryRepository.findLoanStatus(bookId, user.getId())
+                .orElseThrow(() -> new EntityNotFoundException("No book found with ID:: " + bookId));
     }
 
     @Transactional
     public void uploadBookCoverPicture(MultipartFile file, Authentication connectedUser, Integer bookId) {
+        // Concurrent uploads to the same book take turns, each one releases the cover the previous one stored
+        bookRepository.lockById(bookId)
+                .orElseThrow(() -> new EntityNotFoundException("No book found with ID:: " + bookId));
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new EntityNotFoundException("No book found with ID:: " + bookId));
-        User user = getCurrentUser(connectedUser);
+        AuthenticatedUser user = getCurrentUser(connectedUser);
         if (!Objects.equals(book.getOwner().getId(), user.getId())) {
             throw new OperationNotPermittedException("You can only upload covers for your own books");
         }
-        var bookCover = fileStorageService.saveFile(file, user.getId().toString());
-        book.setBookCover(bookCover);
+        StoredFile bookCover = fileStorageService.saveFile(file);
+        String previousCover = book.getBookCover();
+        book.setBookCover(bookCover != null ? bookCover.key() : null);
+        book.setBookCoverHash(bookCover != null ? bookCover.hash() : null);
         bookRepository.save(book);
+        if (bookCover != null) {
+            generateRenditionsAfterCommit(bookCover.key());
+        }
+        if (previousCover != null && !previousCover.equals(book.getBookCover())) {
+            releaseCoverAfterCommit(previousCover);
+        }
+    }
+
+    private void generateRenditionsAfterCommit(String cover) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                coverRenditionService.generateRenditions(cover);
+            }
+        });
+    }
+
+    /**
+     * Covers are content addressed and shared between books with the same image. Once the transaction
+     * that replaced a cover has committed, the file and its renditions are deleted if no book references it any more.
+     * The count and the deletion hold the key's lock, an upload reusing the file either commits its reference
+     * before the count or stores the file again after the deletion.
+     */
+    private void releaseCoverAfterCommit(String cover) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    blobLocks.runLocked(cover, () -> {
+                        if (bookRepository.countByBookCover(cover) == 0) {
+                            fileStorageService.delete(cover);
+                            coverRenditionService.deleteRenditions(cover);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    // The upload itself has committed, an unreleased cover only takes up space
+                    log.warn("Failed to release cover {}", cover, e);
+                }
+            }
+        });
+    }
+
+    public BookCover findBookCover(Integer bookId) {
+        BookCover cover = bookRepository.findCoverById(bookId)
+                .orElseThrow(() -> new EntityNotFoundException("No book found with ID:: " + bookId));
+        if (cover.key() == null || cover.key().isBlank()) {
+            throw new EntityNotFoundException("No cover found for book with ID:: " + bookId);
+        }
+        return cover;
     }
 
     // Helper methods
-    private User getCurrentUser(Authentication authentication) {
-        return (User) authentication.getPrincipal();
+    private AuthenticatedUser getCurrentUser(Authentication authentication) {
+        return (AuthenticatedUser) authentication.getPrincipal();
+    }
+
+    // Only a stateless principal needs the entity, as a reference that is loaded lazily
+    private User loadUser(AuthenticatedUser user) {
+        return user instanceof User entity ? entity : userRepository.getReferenceById(user.getId());
     }
 
     private Pageable buildPageable(int page, int size) {
         return PageRequest.of(page, size, Sort.by("createdDate").descending());
     }
 
-    private Specification<Book> withOwnerId(Integer ownerId) {
-        return (root, query, criteriaBuilder) ->
-                criteriaBuilder.equal(root.get("owner").get("id"), ownerId);
+    // Slice queries declare their own ORDER BY, so only the offset is carried over
+    private Pageable buildSlicePageable(int page, int size) {
+        return PageRequest.of(page, size);
+    }
+
+    // Keyset queries always start at offset 0 and declare their own ORDER BY
+    private Pageable buildKeysetPageable(int size) {
+        return PageRequest.of(0, size);
+    }
+
+    private static PageCursor toCursor(BookListing listing) {
+        return new PageCursor(listing.createdDate(), listing.id());
+    }
+
+    private static PageCursor toCursor(BookTransactionHistory history) {
+        return new PageCursor(history.getCreatedDate(), history.getId());
     }
 }
@@ -0,0 +1,51 @@
+package com.onion.book_network.book;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Sort orders accepted by {@code GET /books}. Each one is backed by an index over the non-archived books,
+ * the id breaks ties so pages stay stable.
+ */
+public enum BookSort {
+
+    NEWEST(Sort.by(Sort.Order.desc("createdDate"), Sort.Order.desc("id"))),
+    OLDEST(Sort.by(Sort.Order.asc("createdDate"), Sort.Order.asc("id"))),
+    TITLE(Sort.by(Sort.Order.asc("title"), Sort.Order.asc("id")));
+
+    private final Sort sort;
+
+    BookSort(Sort sort) {
+        this.sort = sort;
+    }
+
+    public Sort sort() {
+        return sort;
+    }
+
+    /**
+     * Name used in the {@code sort} parameter.
+     */
+    public String param() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static BookSort fromParam(String param) {
+        if (param == null) {
+            return null;
+        }
+        for (BookSort sort : values()) {
+            if (sort.param().equalsIgnoreCase(param)) {
+                return sort;
+            }
+        }
+        return null;
+    }
+
+    public static List<String> params() {
+        return Arrays.stream(values()).map(BookSort::param).toList();
+    }
+}
@@ -1,10 +1,106 @@
 package com.onion.book_network.book;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
 import org.springframework.data.jpa.domain.Specification;
 
-public class BookSpecification {
+import com.onion.book_network.common.PageCursor;
+
+/**
+ * Composable filters on {@link Book}, evaluated in SQL. Combine them with {@link Specification#and}
+ * and load the result with {@link BookListingQueries}.
+ */
+public final class BookSpecification {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private BookSpecification() {
+    }
+
+    public static Specification<Book> withOwnerId(Integer ownerId) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("owner").get("id"), ownerId);
+    }
+
+    public static Specification<Book> isDisplayable() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isFalse(root.get("archived"));
+    }
+
+    /**
+     * All criteria of the filter, unset ones are ignored.
+     */
+    public static Specification<Book> matching(BookFilter filter) {
+        List<Specification<Book>> specifications = new ArrayList<>();
+        if (filter.author() != null) {
+            specifications.add(hasAuthor(filter.author()));
+        }
+        if (filter.isbnPrefix() != null) {
+            specifications.add(isbnStartsWith(filter.isbnPrefix()));
+        }
+        if (filter.shareable() != null) {
+            specifications.add(isShareable(filter.shareable()));
+        }
+        if (filter.minRating() != null) {
+            specifications.add(hasMinRating(filter.minRating()));
+        }
+        if (filter.createdFrom() != null) {
+            specifications.add(createdFrom(filter.createdFrom().atStartOfDay()));
+        }
+        if (filter.createdTo() != null) {
+            specifications.add(createdBefore(filter.createdTo().plusDays(1).atStartOfDay()));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    // Case-insensitive exact match, served by the lower(author_name) index
+    public static Specification<Book> hasAuthor(String authorName) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(
+                criteriaBuilder.lower(root.get("authorName")), authorName.toLowerCase(Locale.ROOT));
+    }
+
+    public static Specification<Book> isbnStartsWith(String prefix) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.like(
+                root.get("isbn"), escapeLike(prefix) + "%", LIKE_ESCAPE);
+    }
+
+    public static Specification<Book> isShareable(boolean shareable) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("shareable"), shareable);
+    }
+
+    /**
+     * Books whose displayed rate ({@link Book#getRate()}, rounded to one decimal) is at least {@code minRating}.
+     * Compares the stored aggregates, {@code ratingSum >= (minRating - 0.05) * ratingCount}, without a division.
+     */
+    public static Specification<Book> hasMinRating(double minRating) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                criteriaBuilder.greaterThan(root.get("ratingCount"), 0),
+                criteriaBuilder.ge(
+                        root.get("ratingSum"),
+                        criteriaBuilder.prod(root.<Number>get("ratingCount"), minRating - 0.05)));
+    }
+
+    public static Specification<Book> createdFrom(LocalDateTime from) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThanOrEqualTo(root.get("createdDate"), from);
+    }
+
+    public static Specification<Book> createdBefore(LocalDateTime before) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.lessThan(root.get("createdDate"), before);
+    }
+
+    /**
+     * Keyset predicate of the {@link BookSort#NEWEST} order, the books after the cursor position.
+     */
+    public static Specification<Book> after(PageCursor cursor) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.lessThan(root.get("createdDate"), cursor.createdDate()),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(root.get("createdDate"), cursor.createdDate()),
+                        criteriaBuilder.lessThan(root.get("id"), cursor.id())));
+    }
 
-    public static Specification<Book> withOwnerId(String ownerId) {
-        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("createdBy"), ownerId);
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 }
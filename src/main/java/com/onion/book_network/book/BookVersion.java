@@ -0,0 +1,41 @@
+package com.onion.book_network.book;
+
+import java.time.LocalDateTime;
+
+import com.onion.book_network.common.ResourceVersion;
+
+/**
+ * Columns that change whenever a {@link BookResponse} or the book's feedback list would, read by primary key.
+ * Rating updates bump {@code lastModifiedDate} as well, see {@link BookRepository#addRating}.
+ */
+public record BookVersion(
+        Integer id,
+        LocalDateTime createdDate,
+        LocalDateTime lastModifiedDate,
+        int ratingCount,
+        LocalDateTime ownerLastModifiedDate
+) {
+
+    /**
+     * Validators of {@code GET /books/{id}}, which also shows the owner's name.
+     */
+    public ResourceVersion book() {
+        LocalDateTime lastModified = modified();
+        if (ownerLastModifiedDate != null && ownerLastModifiedDate.isAfter(lastModified)) {
+            lastModified = ownerLastModifiedDate;
+        }
+        return ResourceVersion.of(lastModified, "book", id, modified(), ratingCount, ownerLastModifiedDate);
+    }
+
+    /**
+     * Validators of the book's feedback pages. Feedbacks are never changed once given, so their count tells
+     * the versions apart. The pages mark the reader's own feedback, hence the reader is part of the tag.
+     */
+    public ResourceVersion feedbacks(Integer readerId) {
+        return ResourceVersion.of(modified(), "feedbacks", id, modified(), ratingCount, readerId);
+    }
+
+    private LocalDateTime modified() {
+        return lastModifiedDate != null ? lastModifiedDate : createdDate;
+    }
+}
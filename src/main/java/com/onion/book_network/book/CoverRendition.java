@@ -0,0 +1,56 @@
+package com.onion.book_network.book;
+
+import java.util.Locale;
+
+/**
+ * Fixed-width JPEG renditions generated for every cover, see {@link CoverRenditionService}.
+ * Ordered from smallest to largest.
+ */
+public enum CoverRendition {
+
+    SMALL(320),
+    MEDIUM(800);
+
+    private final int width;
+
+    CoverRendition(int width) {
+        this.width = width;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Name used in the {@code size} parameter of the cover endpoint.
+     */
+    public String param() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Renditions are stored next to the original cover, {@code ab/cd/<hash>.png} becomes
+     * {@code ab/cd/<hash>-w320.jpg}. Covers are content addressed, so are their renditions.
+     */
+    public String keyFor(String coverKey) {
+        int slash = coverKey.lastIndexOf('/');
+        int dot = coverKey.lastIndexOf('.');
+        String base = dot > slash ? coverKey.substring(0, dot) : coverKey;
+        return base + "-w" + width + ".jpg";
+    }
+
+    /**
+     * Returns the rendition for a {@code size} parameter, or null for the original cover.
+     */
+    public static CoverRendition fromParam(String param) {
+        if (param == null) {
+            return null;
+        }
+        for (CoverRendition rendition : values()) {
+            if (rendition.param().equalsIgnoreCase(param)) {
+                return rendition;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,186 @@
+package com.onion.book_network.book;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import com.onion.book_network.file.BlobLocks;
+import com.onion.book_network.file.BlobMetadata;
+import com.onion.book_network.file.BlobStore;
+import com.onion.book_network.file.FileStorageService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Produces the {@link CoverRendition}s of uploaded covers in the background, so catalog pages
+ * can load small images instead of the original upload.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CoverRenditionService {
+
+    private static final float JPEG_QUALITY = 0.82f;
+    // Upper bound of a decoded upload, about 100 MB as 32 bit pixels. A few bytes can declare far larger images
+    private static final long MAX_PIXELS = 25_000_000;
+
+    private final BlobStore blobStore;
+    private final FileStorageService fileStorageService;
+    private final BlobLocks blobLocks;
+    private final BookRepository bookRepository;
+
+    /**
+     * Generates the missing renditions of a cover. Runs after the upload has committed;
+     * until it has finished the cover endpoint serves the original instead. The cover may be replaced
+     * and released meanwhile, renditions are only stored while it is still referenced.
+     */
+    @Async
+    public void generateRenditions(String coverKey) {
+        try {
+            BufferedImage original = null;
+            for (CoverRendition rendition : CoverRendition.values()) {
+                String renditionKey = rendition.keyFor(coverKey);
+                if (blobStore.stat(renditionKey).isPresent()) {
+                    continue;
+                }
+                if (original == null) {
+                    original = readImage(coverKey);
+                    if (original == null) {
+                        log.warn("Cover {} is not a readable image, no renditions generated", coverKey);
+                        return;
+                    }
+                }
+                if (!store(coverKey, renditionKey, scale(original, rendition.width()))) {
+                    log.info("Cover {} was released, no renditions generated", coverKey);
+                    return;
+                }
+                log.info("Cover rendition saved as: {}", renditionKey);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to generate renditions of cover {}", coverKey, e);
+        }
+    }
+
+    /**
+     * Deletes the renditions of a cover that is no longer referenced.
+     */
+    public void deleteRenditions(String coverKey) {
+        for (CoverRendition rendition : CoverRendition.values()) {
+            // Goes through the storage service so the rendition is also dropped from the blob cache
+            fileStorageService.delete(rendition.keyFor(coverKey));
+        }
+    }
+
+    /**
+     * Decodes the cover, or returns null when no image reader recognizes it. The dimensions are read from
+     * the header first, covers above {@link #MAX_PIXELS} are rejected before anything is decoded.
+     */
+    private BufferedImage readImage(String coverKey) throws IOException {
+        Optional<BlobMetadata> metadata = blobStore.stat(coverKey);
+        if (metadata.isEmpty()) {
+            return null;
+        }
+        try (InputStream in = blobStore.open(coverKey, 0, metadata.get().size());
+             ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = imageIn != null ? ImageIO.getImageReaders(imageIn) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageIn, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > MAX_PIXELS) {
+                    throw new IOException("Cover " + coverKey + " declares " + reader.getWidth(0) + "x"
+                            + reader.getHeight(0) + " pixels, more than " + MAX_PIXELS);
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales the image down to the given width, keeping its aspect ratio. Smaller images keep their size.
+     * The result has no alpha channel, transparent areas are painted white.
+     */
+    static BufferedImage scale(BufferedImage source, int maxWidth) {
+        int width = Math.min(maxWidth, source.getWidth());
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Stores the rendition unless the cover has been released, returns whether it was stored. The check and the
+     * put hold the cover's lock, a release deletes the cover and its renditions under the same lock.
+     */
+    private boolean store(String coverKey, String renditionKey, BufferedImage image) throws IOException {
+        Path tempPath = Files.createTempFile("rendition-", ".jpg");
+        try {
+            writeJpeg(image, tempPath);
+            AtomicBoolean stored = new AtomicBoolean();
+            blobLocks.runLocked(coverKey, () -> {
+                try {
+                    if (bookRepository.countByBookCover(coverKey) > 0 && blobStore.stat(coverKey).isPresent()) {
+                        blobStore.put(renditionKey, tempPath, MediaType.IMAGE_JPEG_VALUE);
+                        stored.set(true);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return stored.get();
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG writer available");
+        }
+        ImageWriter writer = writers.next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
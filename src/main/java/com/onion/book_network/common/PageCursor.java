@@ -0,0 +1,47 @@
+package com.onion.book_network.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.onion.book_network.exception.InvalidCursorException;
+
+/**
+ * Position of the last row of a keyset page, sorted by {@code (createdDate, id)} descending.
+ * Clients only ever see the opaque, URL safe encoded form.
+ */
+public record PageCursor(
+        LocalDateTime createdDate,
+        Integer id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor sent by a client. A blank value asks for the first page and yields {@code null}.
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex == -1) {
+                throw new InvalidCursorException("Malformed page cursor: " + cursor);
+            }
+            return new PageCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    Integer.valueOf(raw.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Malformed page cursor: " + cursor);
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package com.onion.book_network.common;
 
 import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,8 +23,57 @@ public class PageResponse<T> {
     private List<T> content;
     private int number;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    // Totals are only known, and only sent, when the page was fetched with a count query
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
     private boolean first;
     private boolean last;
-}
\ No newline at end of file
+    // Cursor to pass as "after" to fetch the next keyset page, absent on the last page
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    public static <S, T> PageResponse<T> of(Page<S> page, Function<S, T> mapper) {
+        return PageResponse.<T>builder()
+                .content(page.getContent().stream().map(mapper).toList())
+                .number(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .first(page.isFirst())
+                .last(page.isLast())
+                .build();
+    }
+
+    // Count-free variant, the client only learns whether a next page exists
+    public static <S, T> PageResponse<T> of(Slice<S> slice, Function<S, T> mapper) {
+        return PageResponse.<T>builder()
+                .content(slice.getContent().stream().map(mapper).toList())
+                .number(slice.getNumber())
+                .size(slice.getSize())
+                .first(slice.isFirst())
+                .last(slice.isLast())
+                .build();
+    }
+
+    public static <S, T> PageResponse<T> ofKeyset(
+            Slice<S> slice,
+            boolean first,
+            Function<S, T> mapper,
+            Function<S, PageCursor> cursorMapper
+    ) {
+        List<S> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? cursorMapper.apply(content.get(content.size() - 1)).encode()
+                : null;
+        return PageResponse.<T>builder()
+                .content(content.stream().map(mapper).toList())
+                .number(slice.getNumber())
+                .size(slice.getSize())
+                .first(first)
+                .last(!slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
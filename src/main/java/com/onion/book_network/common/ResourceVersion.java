@@ -0,0 +1,35 @@
+package com.onion.book_network.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.stream.Collectors;
+
+import com.onion.book_network.file.FileUtils;
+
+/**
+ * Validators of a JSON resource for conditional GETs, computed from a few columns instead of the response body.
+ * The entity tag is weak, it stands for the state the body is rendered from and not for its bytes.
+ */
+public record ResourceVersion(
+        String eTag,
+        long lastModified
+) {
+
+    // Enough of the SHA-256 to tell versions apart, the tag stays short
+    private static final int TAG_BYTES = 12;
+
+    /**
+     * @param lastModified latest modification of anything the resource is rendered from
+     * @param parts        values that together change whenever the response would, in a fixed order
+     */
+    public static ResourceVersion of(LocalDateTime lastModified, Object... parts) {
+        String raw = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("|"));
+        byte[] digest = FileUtils.newDigest().digest(raw.getBytes(StandardCharsets.UTF_8));
+        String eTag = "W/\"" + HexFormat.of().formatHex(digest, 0, TAG_BYTES) + "\"";
+        // Audit timestamps, and the ones rating updates pass explicitly, are JVM local time
+        return new ResourceVersion(eTag, lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
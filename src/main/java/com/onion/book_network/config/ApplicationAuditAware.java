@@ -7,7 +7,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
-import com.onion.book_network.user.User;
+import com.onion.book_network.security.AuthenticatedUser;
 
 @Component
 public class ApplicationAuditAware implements AuditorAware<Integer> {
@@ -22,7 +22,7 @@ public class ApplicationAuditAware implements AuditorAware<Integer> {
             return Optional.empty();
         }
 
-        User userPrincipal = (User) authentication.getPrincipal();
+        AuthenticatedUser userPrincipal = (AuthenticatedUser) authentication.getPrincipal();
         return Optional.ofNullable(userPrincipal.getId()); // returns Integer
     }
 }
@@ -0,0 +1,7 @@
+package com.onion.book_network.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
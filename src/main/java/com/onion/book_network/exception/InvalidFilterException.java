@@ -0,0 +1,7 @@
+package com.onion.book_network.exception;
+
+public class InvalidFilterException extends RuntimeException {
+    public InvalidFilterException(String message) {
+        super(message);
+    }
+}
@@ -2,10 +2,13 @@ package com.onion.book_network.feedback;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+
 public interface FeedBackRepository extends JpaRepository<Feedback, Integer> {
     @Query("""
             SELECT feedback
@@ -13,4 +16,26 @@ public interface FeedBackRepository extends JpaRepository<Feedback, Integer> {
             WHERE feedback.book.id = :bookId
 """)
     Page<Feedback> findAllByBookId(@Param("bookId") Integer bookId, Pageable pageable);
+
+    @Query("""
+            SELECT feedback
+            FROM Feedback feedback
+            WHERE feedback.book.id = :bookId
+            ORDER BY feedback.createdDate DESC, feedback.id DESC
+            """)
+    Slice<Feedback> findFeedbacksByBook(@Param("bookId") Integer bookId, Pageable pageable);
+
+    @Query("""
+            SELECT feedback
+            FROM Feedback feedback
+            WHERE feedback.book.id = :bookId
+            AND (feedback.createdDate, feedback.id) < (:cursorDate, :cursorId)
+            ORDER BY feedback.createdDate DESC, feedback.id DESC
+            """)
+    Slice<Feedback> findFeedbacksByBookAfter(
+            @Param("bookId") Integer bookId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Integer cursorId,
+            Pageable pageable
+    );
 }
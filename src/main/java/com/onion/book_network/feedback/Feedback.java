@@ -4,8 +4,10 @@ import com.onion.book_network.book.Book;
 import com.onion.book_network.common.BaseEntity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,6 +20,10 @@ import lombok.experimental.SuperBuilder;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+        // Feedbacks of a book in keyset order
+        @Index(name = "idx_feedback_book_created", columnList = "book_id, createdDate DESC, id DESC")
+})
 public class Feedback extends BaseEntity {
     
     private Double note;
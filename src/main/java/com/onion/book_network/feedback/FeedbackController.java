@@ -1,9 +1,11 @@
 package com.onion.book_network.feedback;
 
 import com.onion.book_network.common.PageResponse;
+import com.onion.book_network.common.ResourceVersion;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,6 +15,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/feedbacks")
@@ -35,8 +40,18 @@ public class FeedbackController {
             @PathVariable("book-id") Integer bookId,
             @RequestParam(name = "page", defaultValue = "0", required = false) int page,
             @RequestParam(name = "size", defaultValue = "10", required = false) int size,
-            Authentication connectedUser
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "withTotal", defaultValue = "true", required = false) boolean withTotal,
+            Authentication connectedUser,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(service.findAllFeedbacksByBook(bookId, page, size, connectedUser));
+        // Polled by clients, unchanged pages are answered with 304 before any feedback is loaded
+        Optional<ResourceVersion> version = service.findFeedbacksVersion(bookId, connectedUser);
+        if (version.isPresent() && request.checkNotModified(version.get().eTag(), version.get().lastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(service.findAllFeedbacksByBook(bookId, page, size, after, withTotal, connectedUser));
     }
 }
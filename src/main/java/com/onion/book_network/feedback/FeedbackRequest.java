@@ -8,6 +8,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
 public record FeedbackRequest(
+        @NotNull(message = "200")
         @Positive(message = "200")
         @Min(value = 0, message = "201")
         @Max(value = 5, message = "202")
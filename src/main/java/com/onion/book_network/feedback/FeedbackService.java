@@ -6,18 +6,23 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.onion.book_network.book.Book;
 import com.onion.book_network.book.BookRepository;
+import com.onion.book_network.common.PageCursor;
 import com.onion.book_network.common.PageResponse;
+import com.onion.book_network.common.ResourceVersion;
 import com.onion.book_network.exception.OperationNotPermittedException;
-import com.onion.book_network.user.User;
+import com.onion.book_network.security.AuthenticatedUser;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Objects;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -27,37 +32,52 @@ public class FeedbackService {
     private final BookRepository bookRepository;
     private final FeedbackMapper feedbackMapper;
 
+    @Transactional
     public Integer save(FeedbackRequest request, Authentication connectedUser) {
         Book book = bookRepository.findById(request.bookId())
                 .orElseThrow(() -> new EntityNotFoundException("No book found with ID:: " + request.bookId()));
         if (book.isArchived() || !book.isShareable()) {
             throw new OperationNotPermittedException("You cannot give a feedback for and archived or not shareable book");
         }
-        User user = ((User) connectedUser.getPrincipal());
-        if (Objects.equals(book.getCreatedBy(), connectedUser.getName())) {
+        AuthenticatedUser user = ((AuthenticatedUser) connectedUser.getPrincipal());
+        if (Objects.equals(book.getCreatedBy(), user.getId())) {
             throw new OperationNotPermittedException("You cannot give feedback to your own book");
         }
         Feedback feedback = feedbackMapper.toFeedback(request);
-        return feedBackRepository.save(feedback).getId();
+        Integer feedbackId = feedBackRepository.save(feedback).getId();
+        bookRepository.addRating(book.getId(), feedback.getNote(), LocalDateTime.now());
+        return feedbackId;
+    }
+
+    // Validators of the feedback pages of a book, read from the book row without loading any feedback
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> findFeedbacksVersion(Integer bookId, Authentication connectedUser) {
+        AuthenticatedUser user = ((AuthenticatedUser) connectedUser.getPrincipal());
+        return bookRepository.findVersionById(bookId).map(version -> version.feedbacks(user.getId()));
     }
 
     @Transactional
-    public PageResponse<FeedbackResponse> findAllFeedbacksByBook(Integer bookId, int page, int size, Authentication connectedUser) {
-        Pageable pageable = PageRequest.of(page, size);
-        User user = ((User) connectedUser.getPrincipal());
+    public PageResponse<FeedbackResponse> findAllFeedbacksByBook(Integer bookId, int page, int size, String after, boolean withTotal, Authentication connectedUser) {
+        AuthenticatedUser user = ((AuthenticatedUser) connectedUser.getPrincipal());
+        if (after != null) {
+            PageCursor cursor = PageCursor.decode(after);
+            Pageable pageable = PageRequest.of(0, size);
+            Slice<Feedback> feedbacks = cursor == null
+                    ? feedBackRepository.findFeedbacksByBook(bookId, pageable)
+                    : feedBackRepository.findFeedbacksByBookAfter(bookId, cursor.createdDate(), cursor.id(), pageable);
+            return PageResponse.ofKeyset(
+                    feedbacks,
+                    cursor == null,
+                    f -> feedbackMapper.toFeedbackResponse(f, user.getId()),
+                    f -> new PageCursor(f.getCreatedDate(), f.getId())
+            );
+        }
+        if (!withTotal) {
+            Slice<Feedback> feedbacks = feedBackRepository.findFeedbacksByBook(bookId, PageRequest.of(page, size));
+            return PageResponse.of(feedbacks, f -> feedbackMapper.toFeedbackResponse(f, user.getId()));
+        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdDate").descending());
         Page<Feedback> feedbacks = feedBackRepository.findAllByBookId(bookId, pageable);
-        List<FeedbackResponse> feedbackResponses = feedbacks.stream()
-                .map(f -> feedbackMapper.toFeedbackResponse(f, user.getId()))
-                .toList();
-        return new PageResponse<>(
-                feedbackResponses,
-                feedbacks.getNumber(),
-                feedbacks.getSize(),
-                feedbacks.getTotalElements(),
-                feedbacks.getTotalPages(),
-                feedbacks.isFirst(),
-                feedbacks.isLast()
-        );
-
+        return PageResponse.of(feedbacks, f -> feedbackMapper.toFeedbackResponse(f, user.getId()));
     }
 }
@@ -0,0 +1,81 @@
+package com.onion.book_network.file;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Keeps the content of small, frequently read blobs in memory, bounded by their total size.
+ * Hits, misses and evictions are published as the {@value #CACHE_NAME} cache
+ * ({@code cache.gets}, {@code cache.evictions}, {@code cache.eviction.weight}).
+ */
+@Component
+public class BlobCache {
+
+    static final String CACHE_NAME = "blobs";
+
+    private final Cache<String, CachedBlob> cache;
+    private final long maxEntrySize;
+
+    public BlobCache(
+            @Value("${application.file.cache.max-size:64MB}") DataSize maxSize,
+            @Value("${application.file.cache.max-entry-size:1MB}") DataSize maxEntrySize,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxEntrySize = maxEntrySize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedBlob blob) -> blob.content().capacity())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Whether a blob is small enough to be kept in memory. Larger blobs are always streamed from the store.
+     */
+    public boolean isCacheable(BlobMetadata metadata) {
+        return metadata.size() <= maxEntrySize;
+    }
+
+    /**
+     * Looks a blob up, counting a hit or miss.
+     */
+    public Optional<CachedBlob> get(String key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    /**
+     * Looks a blob up without counting a hit or miss, used for metadata lookups that precede a read.
+     */
+    public Optional<CachedBlob> peek(String key) {
+        return Optional.ofNullable(cache.asMap().get(key));
+    }
+
+    public void put(String key, CachedBlob blob) {
+        if (isCacheable(blob.metadata())) {
+            cache.put(key, blob);
+        }
+    }
+
+    public void invalidate(String key) {
+        cache.invalidate(key);
+    }
+
+    /**
+     * Content of a blob together with the metadata it was read with. The content is shared between
+     * requests and never modified, readers work on a {@link java.nio.ByteBuffer#slice() slice} of it.
+     * Files of the filesystem store are memory-mapped, other blobs are held on the heap.
+     */
+    public record CachedBlob(BlobMetadata metadata, ByteBuffer content) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.onion.book_network.file;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One of a fixed set of rows locked to serialize work on stored files, see {@link BlobLocks}.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "blob_lock")
+public class BlobLock {
+
+    @Id
+    private Integer stripe;
+}
@@ -0,0 +1,25 @@
+package com.onion.book_network.file;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface BlobLockRepository extends JpaRepository<BlobLock, Integer> {
+
+    // SELECT ... FOR UPDATE, held until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("""
+            SELECT blobLock.stripe
+            FROM BlobLock blobLock
+            WHERE blobLock.stripe = :stripe
+            """)
+    Optional<Integer> lockStripe(@Param("stripe") Integer stripe);
+}
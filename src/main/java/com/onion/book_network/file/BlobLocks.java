@@ -0,0 +1,64 @@
+package com.onion.book_network.file;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Database locks on stored file keys, shared by all application instances. Storing a file that may already
+ * exist and deleting a file nobody references any more both hold the lock of its key, so a deletion can never
+ * remove a file an upload has just decided to reuse.
+ * <p>
+ * Keys are hashed onto {@value #STRIPES} lock rows, unrelated keys occasionally wait for each other.
+ */
+@Component
+public class BlobLocks {
+
+    static final int STRIPES = 64;
+
+    private final BlobLockRepository blobLockRepository;
+    private final TransactionTemplate newTransaction;
+
+    public BlobLocks(BlobLockRepository blobLockRepository, PlatformTransactionManager transactionManager) {
+        this.blobLockRepository = blobLockRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Locks the key until the current transaction ends.
+     */
+    public void lock(String key) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Locking " + key + " requires a transaction");
+        }
+        Integer stripe = Math.floorMod(key.hashCode(), STRIPES);
+        if (blobLockRepository.lockStripe(stripe).isEmpty()) {
+            // The migration creates every row, schemas generated by Hibernate start empty
+            createStripe(stripe);
+            blobLockRepository.lockStripe(stripe).orElseThrow();
+        }
+    }
+
+    /**
+     * Runs the action in a new transaction holding the key's lock, for work that has to wait for uploads
+     * reusing the key, such as deleting it once nothing references it. Usable after a commit.
+     */
+    public void runLocked(String key, Runnable action) {
+        newTransaction.executeWithoutResult(status -> {
+            lock(key);
+            action.run();
+        });
+    }
+
+    private void createStripe(Integer stripe) {
+        try {
+            newTransaction.executeWithoutResult(status -> blobLockRepository.save(new BlobLock(stripe)));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another transaction
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.onion.book_network.file;
+
+/**
+ * Size in bytes and last modification time (epoch millis) of a stored blob.
+ */
+public record BlobMetadata(long size, long lastModified) {
+}
@@ -0,0 +1,35 @@
+package com.onion.book_network.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Storage backend for uploaded files, addressed by slash separated keys.
+ * Selected with application.file.storage.type, see {@link BlobStoreConfig}.
+ */
+public interface BlobStore {
+
+    /**
+     * Stores a local file under the key, replacing any existing blob. The store may move the
+     * source file, callers delete it afterwards if it is still there.
+     */
+    void put(String key, Path source, String contentType) throws IOException;
+
+    Optional<BlobMetadata> stat(String key) throws IOException;
+
+    /**
+     * Streams {@code length} bytes of the blob starting at {@code offset}.
+     */
+    InputStream open(String key, long offset, long length) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * Local file backing the blob, for backends that can hand it to the container's sendfile support.
+     */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,66 @@
+package com.onion.book_network.file;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+/**
+ * Selects the {@link BlobStore} with application.file.storage.type: {@code filesystem} (default)
+ * keeps covers on the local disk, {@code s3} in a bucket shared by all instances.
+ */
+@Configuration
+public class BlobStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "application.file.storage.type", havingValue = "filesystem", matchIfMissing = true)
+    public BlobStore fileSystemBlobStore(
+            @Value("${application.file.uploads.photos-output-path}") String fileUploadPath
+    ) {
+        return new FileSystemBlobStore(Path.of(fileUploadPath));
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "application.file.storage.type", havingValue = "s3")
+    public S3Client s3Client(
+            @Value("${application.file.storage.s3.region}") String region,
+            @Value("${application.file.storage.s3.endpoint:}") String endpoint,
+            @Value("${application.file.storage.s3.path-style-access:false}") boolean pathStyleAccess,
+            @Value("${application.file.storage.s3.access-key:}") String accessKey,
+            @Value("${application.file.storage.s3.secret-key:}") String secretKey
+    ) {
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .forcePathStyle(pathStyleAccess);
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        // Without explicit keys the usual AWS sources apply: environment, profile, instance role
+        builder.credentialsProvider(StringUtils.hasText(accessKey)
+                ? StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey))
+                : DefaultCredentialsProvider.create());
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application.file.storage.type", havingValue = "s3")
+    public BlobStore s3BlobStore(
+            S3Client s3Client,
+            @Value("${application.file.storage.s3.bucket}") String bucket,
+            @Value("${application.file.storage.s3.part-size:8MB}") DataSize partSize
+    ) {
+        return new S3BlobStore(s3Client, bucket, partSize.toBytes());
+    }
+}
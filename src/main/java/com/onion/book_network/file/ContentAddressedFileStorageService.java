@@ -0,0 +1,194 @@
+package com.onion.book_network.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import jakarta.annotation.Nonnull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores files under the SHA-256 of their content, fanned out over two key levels
+ * ({@code ab/cd/abcd...ef.jpg}). Identical uploads share one blob, and with 65536 leaf
+ * prefixes no directory grows large even with millions of files. The extension is derived from
+ * the content, never from the client's file name, so identical bytes always get the same key.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContentAddressedFileStorageService implements FileStorageService {
+
+    // Upper bound of a single transferFrom call, the copy itself goes through a small fixed-size buffer
+    private static final long TRANSFER_CHUNK_SIZE = 1024 * 1024;
+    private static final String TEMP_DIR = "tmp";
+
+    private final BlobStore blobStore;
+    private final BlobCache blobCache;
+    private final BlobLocks blobLocks;
+
+    // Local scratch space for uploads while they are hashed, also the blob root of the filesystem store
+    @Value("${application.file.uploads.photos-output-path}")
+    private String fileUploadPath;
+
+    @Override
+    public StoredFile saveFile(@Nonnull MultipartFile sourceFile) {
+        Path tempPath = null;
+        try {
+            // With the filesystem store the temp directory is on the same file system, so storing the upload is a rename
+            Path tempDir = Files.createDirectories(Paths.get(fileUploadPath, TEMP_DIR));
+            tempPath = Files.createTempFile(tempDir, "upload-", ".tmp");
+            String hash = streamToFile(sourceFile, tempPath);
+
+            ContentType contentType = ContentType.detect(tempPath);
+            String key = toKey(hash, contentType.extension());
+            if (blobStore.stat(key).isPresent()) {
+                log.info("File already stored as: {}", key);
+            } else {
+                // A concurrent upload of the same content may win the race, the content is identical either way
+                blobStore.put(key, tempPath, contentType.mediaType());
+                blobCache.invalidate(key);
+                log.info("File saved as: {}", key);
+            }
+            // Held until the caller's transaction ends, a concurrent release cannot delete the blob from here on.
+            // Taken after the put so the lock never waits on the store, only a release in between costs a second put
+            blobLocks.lock(key);
+            if (blobStore.stat(key).isEmpty()) {
+                if (Files.notExists(tempPath)) {
+                    // The store moved the temp file into place, the upload can be read again
+                    tempPath = Files.createTempFile(tempDir, "upload-", ".tmp");
+                    streamToFile(sourceFile, tempPath);
+                }
+                blobStore.put(key, tempPath, contentType.mediaType());
+                blobCache.invalidate(key);
+                log.info("File saved again as: {}, it was released during the upload", key);
+            }
+            return new StoredFile(key, hash);
+        } catch (IOException e) {
+            log.error("Failed to store upload {}", sourceFile.getOriginalFilename(), e);
+            return null;
+        } finally {
+            deleteQuietly(tempPath);
+        }
+    }
+
+    @Override
+    public void delete(@Nonnull String key) {
+        blobCache.invalidate(key);
+        try {
+            blobStore.delete(key);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}", key, e);
+        }
+    }
+
+    @Override
+    public Optional<BlobMetadata> stat(@Nonnull String key) throws IOException {
+        Optional<BlobCache.CachedBlob> cached = blobCache.peek(key);
+        if (cached.isPresent()) {
+            return Optional.of(cached.get().metadata());
+        }
+        return blobStore.stat(key);
+    }
+
+    /**
+     * Small files are loaded on first access and served from {@link BlobCache} afterwards,
+     * larger ones are streamed from the store.
+     */
+    @Override
+    public void transferTo(@Nonnull String key, long offset, long length, @Nonnull OutputStream out) throws IOException {
+        Optional<BlobCache.CachedBlob> cached = blobCache.get(key);
+        if (cached.isEmpty()) {
+            Optional<BlobMetadata> metadata = blobStore.stat(key);
+            if (metadata.isEmpty() || !blobCache.isCacheable(metadata.get())) {
+                try (InputStream in = blobStore.open(key, offset, length)) {
+                    in.transferTo(out);
+                }
+                return;
+            }
+            cached = Optional.of(load(key, metadata.get()));
+        }
+        ByteBuffer content = cached.get().content();
+        int start = (int) Math.min(offset, content.capacity());
+        int end = (int) Math.min(offset + length, content.capacity());
+        FileUtils.write(content.slice(start, end - start), out);
+    }
+
+    /**
+     * Empty for files small enough to be served from memory, see {@link #transferTo}.
+     */
+    @Override
+    public Optional<Path> localPath(@Nonnull String key, @Nonnull BlobMetadata metadata) {
+        if (blobCache.isCacheable(metadata)) {
+            return Optional.empty();
+        }
+        return blobStore.localPath(key);
+    }
+
+    /**
+     * Local files are memory-mapped, so caching them neither copies them onto the heap nor reads them twice.
+     */
+    private BlobCache.CachedBlob load(String key, BlobMetadata metadata) throws IOException {
+        Optional<Path> localPath = blobStore.localPath(key);
+        ByteBuffer content;
+        if (localPath.isPresent()) {
+            content = FileUtils.mapFile(localPath.get());
+        } else {
+            try (InputStream in = blobStore.open(key, 0, metadata.size())) {
+                content = ByteBuffer.wrap(in.readAllBytes());
+            }
+        }
+        BlobCache.CachedBlob blob = new BlobCache.CachedBlob(
+                new BlobMetadata(content.capacity(), metadata.lastModified()), content);
+        blobCache.put(key, blob);
+        return blob;
+    }
+
+    /**
+     * Copies the upload without buffering it on the heap and returns the hex encoded SHA-256 of its content.
+     */
+    private String streamToFile(MultipartFile sourceFile, Path targetPath) throws IOException {
+        MessageDigest digest = FileUtils.newDigest();
+        try (ReadableByteChannel source = Channels.newChannel(new DigestInputStream(sourceFile.getInputStream(), digest));
+             FileChannel target = FileChannel.open(targetPath, StandardOpenOption.WRITE)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = target.transferFrom(source, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                position += transferred;
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String toKey(String hash, String fileExtension) {
+        String fileName = hash + (fileExtension.isEmpty() ? "" : "." + fileExtension);
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + fileName;
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}", path.toAbsolutePath(), e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.onion.book_network.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Image formats recognized from the first bytes of a stored file. The extension of the stored key
+ * is taken from here, the client's file name and content type are not trusted.
+ */
+public enum ContentType {
+
+    JPEG("jpg", MediaType.IMAGE_JPEG_VALUE),
+    PNG("png", MediaType.IMAGE_PNG_VALUE),
+    GIF("gif", MediaType.IMAGE_GIF_VALUE),
+    WEBP("webp", "image/webp"),
+    UNKNOWN("", MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+    private static final int HEADER_LENGTH = 12;
+    private static final byte[] JPEG_MAGIC = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] GIF_MAGIC = "GIF8".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RIFF_MAGIC = "RIFF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WEBP_MAGIC = "WEBP".getBytes(StandardCharsets.US_ASCII);
+
+    private final String extension;
+    private final String mediaType;
+
+    ContentType(String extension, String mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Extension of the stored key without the dot, empty for unknown content.
+     */
+    public String extension() {
+        return extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Format of a stored key, going by its extension. Keys stored before the extension was detected carry
+     * whatever the client sent, anything but one of the known image formats is UNKNOWN.
+     */
+    public static ContentType fromKey(String key) {
+        String fileName = key.substring(key.lastIndexOf('/') + 1);
+        int lastDotIndex = fileName.lastIndexOf('.');
+        if (lastDotIndex == -1) {
+            return UNKNOWN;
+        }
+        String extension = fileName.substring(lastDotIndex + 1).toLowerCase(Locale.ROOT);
+        if (extension.equals("jpeg")) {
+            return JPEG;
+        }
+        for (ContentType contentType : values()) {
+            if (contentType != UNKNOWN && contentType.extension.equals(extension)) {
+                return contentType;
+            }
+        }
+        return UNKNOWN;
+    }
+
+    static ContentType detect(Path path) throws IOException {
+        byte[] header;
+        try (InputStream in = Files.newInputStream(path)) {
+            header = in.readNBytes(HEADER_LENGTH);
+        }
+        if (startsWith(header, 0, JPEG_MAGIC)) {
+            return JPEG;
+        }
+        if (startsWith(header, 0, PNG_MAGIC)) {
+            return PNG;
+        }
+        if (startsWith(header, 0, GIF_MAGIC)) {
+            return GIF;
+        }
+        // RIFF container: "RIFF", 4 bytes of length, then the format
+        if (startsWith(header, 0, RIFF_MAGIC) && startsWith(header, 8, WEBP_MAGIC)) {
+            return WEBP;
+        }
+        return UNKNOWN;
+    }
+
+    private static boolean startsWith(byte[] header, int offset, byte[] magic) {
+        return header.length >= offset + magic.length
+                && Arrays.equals(header, offset, offset + magic.length, magic, 0, magic.length);
+    }
+}
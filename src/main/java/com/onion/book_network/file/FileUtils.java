@@ -1,25 +1,93 @@
 package com.onion.book_network.file;
 
+import java.io.EOFException;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
-import lombok.extern.slf4j.Slf4j;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
-@Slf4j
 public class FileUtils {
 
-    public static byte[] readFileFromLocation(String fileUrl) {
-        if (fileUrl == null || fileUrl.isBlank()) {
-            log.warn("File path is blank or null");
-            return null;
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    // Tomcat request attributes used to hand a file over to the connector's sendfile support
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Maps a file read-only into memory. Reading the buffer is served from the OS page cache
+     * instead of a copy on the heap, the mapping is released once the buffer is garbage collected.
+     */
+    public static MappedByteBuffer mapFile(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer to a stream. Heap buffers are written from their backing array,
+     * direct and mapped buffers through a channel, neither copies the whole content first.
+     */
+    public static void write(ByteBuffer buffer, OutputStream out) throws IOException {
+        if (buffer.hasArray()) {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            return;
+        }
+        WritableByteChannel target = Channels.newChannel(out);
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
         }
+    }
+
+    /**
+     * Writes {@code length} bytes of a file starting at {@code offset} to the response body without
+     * copying them through the heap. Uses the servlet container's sendfile support when available and
+     * falls back to {@link FileChannel#transferTo} otherwise. The caller is expected to have set
+     * the Content-Length header.
+     */
+    public static void transferTo(Path filePath, long offset, long length, HttpServletRequest request,
+                                  HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, filePath.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, offset);
+            request.setAttribute(SENDFILE_END_ATTR, offset + length);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long end = offset + length;
+            long position = offset;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, target);
+                if (transferred == 0) {
+                    // The file is shorter than expected, it was truncated or replaced since it was stat'ed
+                    throw new EOFException("Reached the end of " + filePath + " at " + position + " of " + end + " bytes");
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    /**
+     * A new SHA-256 digest, the hash used for stored files and anything else derived from content.
+     */
+    public static MessageDigest newDigest() {
         try {
-            Path filePath = Path.of(fileUrl);
-            return Files.readAllBytes(filePath);
-        } catch (IOException e) {
-            log.warn("No file found at path: {}", fileUrl);
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not available", e);
         }
-        return null;
     }
 }
@@ -0,0 +1,146 @@
+package com.onion.book_network.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+/**
+ * Keeps blobs as objects in an S3 bucket, so that every instance of the application sees the same covers.
+ * Works against AWS as well as S3-compatible servers such as MinIO (endpoint override, path-style access).
+ * Files larger than one part are sent as a multipart upload, reads can be limited to a byte range.
+ */
+@Slf4j
+public class S3BlobStore implements BlobStore {
+
+    // Smallest part size accepted by S3 for all but the last part
+    static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final long partSize;
+
+    public S3BlobStore(S3Client s3Client, String bucket, long partSize) {
+        if (partSize < MIN_PART_SIZE) {
+            throw new IllegalArgumentException("S3 part size must be at least " + MIN_PART_SIZE + " bytes");
+        }
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.partSize = partSize;
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        long size = Files.size(source);
+        try {
+            if (size <= partSize) {
+                s3Client.putObject(request -> request.bucket(bucket).key(key).contentType(contentType),
+                        RequestBody.fromFile(source));
+            } else {
+                multipartUpload(key, source, size, contentType);
+            }
+        } catch (SdkException e) {
+            throw new IOException("Failed to upload " + key + " to bucket " + bucket, e);
+        }
+    }
+
+    private void multipartUpload(String key, Path source, long size, String contentType) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(request -> request.bucket(bucket).key(key).contentType(contentType))
+                .uploadId();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            for (long offset = 0; offset < size; offset += partSize) {
+                int partNumber = parts.size() + 1;
+                long length = Math.min(partSize, size - offset);
+                long partOffset = offset;
+                // Each part is read straight from the file, the SDK reopens the stream if it retries the part
+                RequestBody body = RequestBody.fromContentProvider(
+                        () -> openRange(source, partOffset, length), length, contentType);
+                String eTag = s3Client.uploadPart(request -> request.bucket(bucket).key(key)
+                                .uploadId(uploadId).partNumber(partNumber).contentLength(length), body)
+                        .eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+            }
+            s3Client.completeMultipartUpload(request -> request.bucket(bucket).key(key).uploadId(uploadId)
+                    .multipartUpload(upload -> upload.parts(parts)));
+            log.debug("Uploaded {} in {} parts", key, parts.size());
+        } catch (SdkException | UncheckedIOException e) {
+            abortQuietly(key, uploadId);
+            throw new IOException("Failed to upload " + key + " to bucket " + bucket, e);
+        }
+    }
+
+    @Override
+    public Optional<BlobMetadata> stat(String key) throws IOException {
+        try {
+            HeadObjectResponse head = s3Client.headObject(request -> request.bucket(bucket).key(key));
+            return Optional.of(new BlobMetadata(head.contentLength(), head.lastModified().toEpochMilli()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            // HEAD responses have no body, a missing object surfaces as a bare 404
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw new IOException("Failed to read metadata of " + key, e);
+        } catch (SdkException e) {
+            throw new IOException("Failed to read metadata of " + key, e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key, long offset, long length) throws IOException {
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        String range = "bytes=" + offset + "-" + (offset + length - 1);
+        try {
+            return s3Client.getObject(request -> request.bucket(bucket).key(key).range(range));
+        } catch (SdkException e) {
+            throw new IOException("Failed to read " + key, e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3Client.deleteObject(request -> request.bucket(bucket).key(key));
+        } catch (SdkException e) {
+            throw new IOException("Failed to delete " + key, e);
+        }
+    }
+
+    private void abortQuietly(String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(request -> request.bucket(bucket).key(key).uploadId(uploadId));
+        } catch (SdkException e) {
+            log.warn("Failed to abort multipart upload {} of {}", uploadId, key, e);
+        }
+    }
+
+    private static InputStream openRange(Path source, long offset, long length) {
+        try {
+            FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+            channel.position(offset);
+            return new BoundedInputStream(Channels.newInputStream(channel), length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
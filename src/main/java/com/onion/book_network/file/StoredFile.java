@@ -0,0 +1,8 @@
+package com.onion.book_network.file;
+
+/**
+ * A file written by {@link FileStorageService}, with the hex encoded SHA-256 of its content
+ * computed while it was being written.
+ */
+public record StoredFile(String key, String hash) {
+}
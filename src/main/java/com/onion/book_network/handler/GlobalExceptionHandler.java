@@ -1,8 +1,13 @@
 package com.onion.book_network.handler;
 
 import com.onion.book_network.exception.ActivationTokenException;
+import com.onion.book_network.exception.InvalidCursorException;
+import com.onion.book_network.exception.InvalidFilterException;
 import com.onion.book_network.exception.OperationNotPermittedException;
 import jakarta.mail.MessagingException;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
@@ -66,6 +71,34 @@ public class GlobalExceptionHandler {
                 .body(ApiResponseFactory.failure("Operation not permitted", List.of(ex.getMessage())));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity
+                .badRequest()
+                .body(ApiResponseFactory.failure("Invalid page cursor", List.of(ex.getMessage())));
+    }
+
+    @ExceptionHandler(InvalidFilterException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidFilter(InvalidFilterException ex) {
+        return ResponseEntity
+                .badRequest()
+                .body(ApiResponseFactory.failure("Invalid filter", List.of(ex.getMessage())));
+    }
+
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ApiResponseFactory.failure("Concurrent modification, please retry", List.of(ex.getMessage())));
+    }
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleEntityNotFound(EntityNotFoundException ex) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(ApiResponseFactory.failure("Resource not found", List.of(ex.getMessage())));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Void>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         List<String> validationErrors = ex.getBindingResult().getAllErrors()
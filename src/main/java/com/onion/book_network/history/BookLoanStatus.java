@@ -0,0 +1,34 @@
+package com.onion.book_network.history;
+
+/**
+ * Everything a borrow, return or return approval has to check, loaded with a single query:
+ * the state of the book and its loans that are not closed yet, as seen by the calling user.
+ *
+ * @param userLoanId      loan of the calling user that is not returned yet
+ * @param userOpenLoans   loans of the calling user whose return is not approved yet
+ * @param openLoans       loans of any user whose return is not approved yet
+ * @param pendingReturnId returned loan waiting for the owner's approval
+ */
+public record BookLoanStatus(
+        Integer bookId,
+        boolean archived,
+        boolean shareable,
+        Integer ownerId,
+        Integer userLoanId,
+        long userOpenLoans,
+        long openLoans,
+        Integer pendingReturnId
+) {
+
+    public boolean isAvailableForSharing() {
+        return shareable && !archived;
+    }
+
+    public boolean isBorrowedByUser() {
+        return userOpenLoans > 0;
+    }
+
+    public boolean isBorrowed() {
+        return openLoans > 0;
+    }
+}
@@ -6,8 +6,10 @@ import com.onion.book_network.user.User;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -20,6 +22,12 @@ import lombok.experimental.SuperBuilder;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+        // Loans of a user, newest first: findBorrowedBooks and its keyset continuation
+        @Index(name = "idx_book_transaction_history_user_created", columnList = "user_id, createdDate, id"),
+        // Open loans of a book: the findLoanStatus subqueries and the owner's returned books
+        @Index(name = "idx_book_transaction_history_book_open", columnList = "book_id, returnApproved, returned")
+})
 public class BookTransactionHistory extends BaseEntity {
 
     @ManyToOne
@@ -2,62 +2,120 @@ package com.onion.book_network.history;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface BookTransactionHistoryRepository extends JpaRepository<BookTransactionHistory, Integer> {
+    String LOAN_STATUS = """
+            SELECT new com.onion.book_network.history.BookLoanStatus(
+                book.id, book.archived, book.shareable, book.owner.id,
+                (SELECT MAX(loan.id) FROM BookTransactionHistory loan
+                 WHERE loan.book.id = book.id AND loan.user.id = :userId
+                 AND loan.returned = false AND loan.returnApproved = false),
+                (SELECT COUNT(loan) FROM BookTransactionHistory loan
+                 WHERE loan.book.id = book.id AND loan.user.id = :userId
+                 AND loan.returnApproved = false),
+                (SELECT COUNT(loan) FROM BookTransactionHistory loan
+                 WHERE loan.book.id = book.id
+                 AND loan.returnApproved = false),
+                (SELECT MAX(loan.id) FROM BookTransactionHistory loan
+                 WHERE loan.book.id = book.id
+                 AND loan.returned = true AND loan.returnApproved = false)
+            )
+            FROM Book book
+            WHERE book.id = :bookId
+            """;
+
+    @Query(LOAN_STATUS)
+    Optional<BookLoanStatus> findLoanStatus(@Param("bookId") Integer bookId, @Param("userId") Integer userId);
+
+    // Bulk updates bypass the auditing listener, the audit columns are set explicitly and with JVM time like the listener does
+    @Modifying
     @Query("""
-            SELECT
-            (COUNT (*) > 0) AS isBorrowed
-            FROM BookTransactionHistory bookTransactionHistory
-            WHERE bookTransactionHistory.user.id = :userId
-            AND bookTransactionHistory.book.id = :bookId
-            AND bookTransactionHistory.returnApproved = false
+            UPDATE BookTransactionHistory loan
+            SET loan.returned = true,
+                loan.lastModifiedDate = :modifiedAt,
+                loan.lastModifiedBy = :userId
+            WHERE loan.id = :loanId
+            AND loan.returned = false
             """)
-    boolean isAlreadyBorrowedByUser(@Param("bookId") Integer bookId, @Param("userId") Integer userId);
+    int markReturned(@Param("loanId") Integer loanId, @Param("userId") Integer userId,
+            @Param("modifiedAt") LocalDateTime modifiedAt);
 
+    @Modifying
     @Query("""
-            SELECT
-            (COUNT (*) > 0) AS isBorrowed
-            FROM BookTransactionHistory bookTransactionHistory
-            WHERE bookTransactionHistory.book.id = :bookId
-            AND bookTransactionHistory.returnApproved = false
+            UPDATE BookTransactionHistory loan
+            SET loan.returnApproved = true,
+                loan.lastModifiedDate = :modifiedAt,
+                loan.lastModifiedBy = :userId
+            WHERE loan.id = :loanId
+            AND loan.returned = true
+            AND loan.returnApproved = false
             """)
-    boolean isAlreadyBorrowed(@Param("bookId") Integer bookId);
+    int markReturnApproved(@Param("loanId") Integer loanId, @Param("userId") Integer userId,
+            @Param("modifiedAt") LocalDateTime modifiedAt);
 
     @Query("""
-            SELECT transaction
-            FROM BookTransactionHistory  transaction
-            WHERE transaction.user.id = :userId
-            AND transaction.book.id = :bookId
-            AND transaction.returned = false
-            AND transaction.returnApproved = false
+            SELECT history
+            FROM BookTransactionHistory history
+            WHERE history.user.id = :userId
             """)
-    Optional<BookTransactionHistory> findByBookIdAndUserId(@Param("bookId") Integer bookId, @Param("userId") Integer userId);
+    Page<BookTransactionHistory> findAllBorrowedBooks(Pageable pageable, @Param("userId") Integer userId);
 
     @Query("""
-            SELECT transaction
-            FROM BookTransactionHistory  transaction
-            WHERE transaction.book.owner.id = :userId
-            AND transaction.book.id = :bookId
-            AND transaction.returned = true
-            AND transaction.returnApproved = false
+            SELECT history
+            FROM BookTransactionHistory history
+            WHERE history.user.id = :userId
+            ORDER BY history.createdDate DESC, history.id DESC
             """)
-    Optional<BookTransactionHistory> findByBookIdAndOwnerId(@Param("bookId") Integer bookId, @Param("userId") Integer userId);
+    Slice<BookTransactionHistory> findBorrowedBooks(@Param("userId") Integer userId, Pageable pageable);
 
     @Query("""
             SELECT history
             FROM BookTransactionHistory history
             WHERE history.user.id = :userId
+            AND (history.createdDate, history.id) < (:cursorDate, :cursorId)
+            ORDER BY history.createdDate DESC, history.id DESC
             """)
-    Page<BookTransactionHistory> findAllBorrowedBooks(Pageable pageable, @Param("userId") Integer userId);
+    Slice<BookTransactionHistory> findBorrowedBooksAfter(
+            @Param("userId") Integer userId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Integer cursorId,
+            Pageable pageable
+    );
+
     @Query("""
             SELECT history
             FROM BookTransactionHistory history
             WHERE history.book.owner.id = :userId
             """)
     Page<BookTransactionHistory> findAllReturnedBooks(Pageable pageable, @Param("userId") Integer userId);
+
+    @Query("""
+            SELECT history
+            FROM BookTransactionHistory history
+            WHERE history.book.owner.id = :userId
+            ORDER BY history.createdDate DESC, history.id DESC
+            """)
+    Slice<BookTransactionHistory> findReturnedBooks(@Param("userId") Integer userId, Pageable pageable);
+
+    @Query("""
+            SELECT history
+            FROM BookTransactionHistory history
+            WHERE history.book.owner.id = :userId
+            AND (history.createdDate, history.id) < (:cursorDate, :cursorId)
+            ORDER BY history.createdDate DESC, history.id DESC
+            """)
+    Slice<BookTransactionHistory> findReturnedBooksAfter(
+            @Param("userId") Integer userId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Integer cursorId,
+            Pageable pageable
+    );
 }
\ No newline at end of file
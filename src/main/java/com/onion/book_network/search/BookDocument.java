@@ -0,0 +1,44 @@
+package com.onion.book_network.search;
+
+import java.util.Locale;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+
+import com.onion.book_network.book.Book;
+
+/**
+ * Searchable part of a book. Hits only carry the id, results are loaded from the database.
+ */
+@Document(indexName = "books")
+public record BookDocument(
+        @Id Integer id,
+        @Field(type = FieldType.Text) String title,
+        @Field(type = FieldType.Text) String authorName,
+        @Field(type = FieldType.Keyword) String isbn,
+        @Field(type = FieldType.Text) String synopsis,
+        @Field(type = FieldType.Boolean) boolean archived,
+        @Field(type = FieldType.Boolean) boolean shareable
+) {
+
+    public static BookDocument from(Book book) {
+        return new BookDocument(
+                book.getId(),
+                book.getTitle(),
+                book.getAuthorName(),
+                normalizeIsbn(book.getIsbn()),
+                book.getSynopsis(),
+                book.isArchived(),
+                book.isShareable()
+        );
+    }
+
+    /**
+     * ISBNs are indexed and matched without spaces and hyphens, every backend compares this form.
+     */
+    public static String normalizeIsbn(String isbn) {
+        return isbn == null ? null : isbn.replaceAll("[\\s-]", "").toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,39 @@
+package com.onion.book_network.search;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+
+/**
+ * Selects the {@link BookSearchService} with application.search.type: {@code memory} (default) keeps
+ * the index in this process, {@code lucene} on the local disk, {@code elasticsearch} in the cluster
+ * shared by all instances.
+ */
+@Configuration
+public class BookSearchConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "application.search.type", havingValue = "memory", matchIfMissing = true)
+    public BookSearchService inMemoryBookSearchService() {
+        return new InMemoryBookSearchService();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application.search.type", havingValue = "elasticsearch")
+    public BookSearchService elasticsearchBookSearchService(ElasticsearchOperations elasticsearchOperations) {
+        return new ElasticsearchBookSearchService(elasticsearchOperations);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "application.search.type", havingValue = "lucene")
+    public LuceneBookSearchService luceneBookSearchService(
+            @Value("${application.search.lucene.path}") String indexPath
+    ) throws IOException {
+        return new LuceneBookSearchService(Path.of(indexPath));
+    }
+}
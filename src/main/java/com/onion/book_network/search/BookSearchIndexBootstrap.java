@@ -0,0 +1,31 @@
+package com.onion.book_network.search;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Queues every book for indexing when the search index starts empty or incomplete, the relay then
+ * fills it like any other batch of changes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookSearchIndexBootstrap implements ApplicationRunner {
+
+    private final BookSearchService bookSearchService;
+    private final BookSearchOutboxRepository outboxRepository;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        if (bookSearchService.requiresRebuild()) {
+            int queuedBooks = outboxRepository.enqueueAllBooks();
+            log.info("Search index rebuild queued {} books", queuedBooks);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.onion.book_network.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.onion.book_network.book.Book;
+import com.onion.book_network.book.BookRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies pending {@link BookSearchOutbox} entries to the search index. Each entry only names a book,
+ * the relay indexes the book as it is now, or removes it when it no longer exists, so entries can be
+ * applied more than once and in any order.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookSearchOutboxRelay {
+
+    private final BookSearchOutboxRepository outboxRepository;
+    private final BookRepository bookRepository;
+    private final BookSearchService bookSearchService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.search.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${application.search.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (RuntimeException e) {
+            // The batch stays in the outbox and is retried on the next poll
+            log.warn("Failed to update the search index", e);
+        }
+    }
+
+    /**
+     * The entries are deleted in the same transaction, only once the index has accepted the batch.
+     */
+    int relayBatch() {
+        List<BookSearchOutbox> batch = outboxRepository.findBatch(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Set<Integer> bookIds = new LinkedHashSet<>();
+        batch.forEach(entry -> bookIds.add(entry.getBookId()));
+
+        List<BookDocument> documents = new ArrayList<>();
+        for (Book book : bookRepository.findAllById(bookIds)) {
+            documents.add(BookDocument.from(book));
+            bookIds.remove(book.getId());
+        }
+        if (!documents.isEmpty()) {
+            bookSearchService.index(documents);
+        }
+        // Whatever was not found has been deleted
+        if (!bookIds.isEmpty()) {
+            bookSearchService.delete(bookIds);
+        }
+        outboxRepository.deleteAllInBatch(batch);
+        log.debug("Relayed {} search index updates", batch.size());
+        return batch.size();
+    }
+}
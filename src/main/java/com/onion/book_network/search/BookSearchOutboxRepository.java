@@ -0,0 +1,37 @@
+package com.onion.book_network.search;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface BookSearchOutboxRepository extends JpaRepository<BookSearchOutbox, Long> {
+
+    /**
+     * Oldest pending entries, locked until the transaction ends. Entries locked by the relay of another
+     * instance are skipped ({@code FOR UPDATE SKIP LOCKED}, lock timeout -2), so instances share the work.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT entry
+            FROM BookSearchOutbox entry
+            ORDER BY entry.id
+            """)
+    List<BookSearchOutbox> findBatch(Pageable pageable);
+
+    @Modifying
+    @Query("""
+            INSERT INTO BookSearchOutbox (bookId, createdDate)
+            SELECT book.id, CURRENT_TIMESTAMP
+            FROM Book book
+            """)
+    int enqueueAllBooks();
+}
@@ -0,0 +1,32 @@
+package com.onion.book_network.search;
+
+import java.util.Collection;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Full-text index of the catalog over title, author name, ISBN and synopsis. Kept in sync by
+ * {@link BookSearchOutboxRelay}, selected with application.search.type, see {@link BookSearchConfig}.
+ */
+public interface BookSearchService {
+
+    /**
+     * Adds the documents, replacing earlier versions of the same books.
+     */
+    void index(Collection<BookDocument> documents);
+
+    void delete(Collection<Integer> bookIds);
+
+    /**
+     * Ids of the non-archived books matching every term of the query, best match first.
+     */
+    Page<Integer> search(String query, Pageable pageable);
+
+    /**
+     * Whether the index has to be filled from the database on startup, see {@link BookSearchIndexBootstrap}.
+     */
+    default boolean requiresRebuild() {
+        return false;
+    }
+}
@@ -0,0 +1,88 @@
+package com.onion.book_network.search;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.SearchHits;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Searches the {@code books} index of the Elasticsearch cluster configured with spring.elasticsearch.uris.
+ * The index is created with the mapping of {@link BookDocument} on first use, so the application starts
+ * while the cluster is still unavailable.
+ */
+@Slf4j
+public class ElasticsearchBookSearchService implements BookSearchService {
+
+    // Analyzed per field group, a term may match in any of the text fields
+    static final List<String> SEARCH_FIELDS = List.of("title^3", "authorName^2", "synopsis");
+    // The ISBN is a keyword, matched as a whole against the normalized query, see BookDocument.normalizeIsbn
+    static final String ISBN_FIELD = "isbn";
+    private static final float ISBN_BOOST = 5;
+
+    private final ElasticsearchOperations operations;
+    private final AtomicBoolean indexReady = new AtomicBoolean();
+
+    public ElasticsearchBookSearchService(ElasticsearchOperations operations) {
+        this.operations = operations;
+    }
+
+    @Override
+    public void index(Collection<BookDocument> documents) {
+        ensureIndex();
+        operations.save(documents);
+    }
+
+    @Override
+    public void delete(Collection<Integer> bookIds) {
+        ensureIndex();
+        bookIds.forEach(bookId -> operations.delete(String.valueOf(bookId), BookDocument.class));
+    }
+
+    @Override
+    public Page<Integer> search(String query, Pageable pageable) {
+        ensureIndex();
+        NativeQuery searchQuery = NativeQuery.builder()
+                .withQuery(q -> q.bool(b -> b
+                        .should(s -> s.multiMatch(mm -> mm
+                                .query(query)
+                                .fields(SEARCH_FIELDS)
+                                .type(TextQueryType.CrossFields)
+                                .operator(Operator.And)))
+                        .should(s -> s.term(t -> t
+                                .field(ISBN_FIELD)
+                                .value(BookDocument.normalizeIsbn(query))
+                                .boost(ISBN_BOOST)))
+                        .minimumShouldMatch("1")
+                        .filter(f -> f.term(t -> t.field("archived").value(false)))))
+                .withPageable(pageable)
+                .build();
+        SearchHits<BookDocument> hits = operations.search(searchQuery, BookDocument.class);
+        List<Integer> bookIds = hits.getSearchHits().stream()
+                .map(hit -> Integer.valueOf(hit.getId()))
+                .toList();
+        return new PageImpl<>(bookIds, pageable, hits.getTotalHits());
+    }
+
+    private void ensureIndex() {
+        if (indexReady.get()) {
+            return;
+        }
+        IndexOperations indexOperations = operations.indexOps(BookDocument.class);
+        if (!indexOperations.exists()) {
+            indexOperations.createWithMapping();
+            log.info("Created search index {}", indexOperations.getIndexCoordinates());
+        }
+        indexReady.set(true);
+    }
+}
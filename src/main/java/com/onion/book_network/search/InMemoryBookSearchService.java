@@ -0,0 +1,101 @@
+package com.onion.book_network.search;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Keeps the documents in a map and scans all of them per query. Meant for tests and single node
+ * development, the index is rebuilt from the database on every start.
+ */
+public class InMemoryBookSearchService implements BookSearchService {
+
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // Same boosts as the Elasticsearch query
+    private static final int TITLE_WEIGHT = 3;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int SYNOPSIS_WEIGHT = 1;
+    private static final int ISBN_WEIGHT = 5;
+
+    private final Map<Integer, BookDocument> documents = new ConcurrentHashMap<>();
+
+    @Override
+    public void index(Collection<BookDocument> documents) {
+        documents.forEach(document -> this.documents.put(document.id(), document));
+    }
+
+    @Override
+    public void delete(Collection<Integer> bookIds) {
+        bookIds.forEach(documents::remove);
+    }
+
+    // Starts empty with every process
+    @Override
+    public boolean requiresRebuild() {
+        return true;
+    }
+
+    @Override
+    public Page<Integer> search(String query, Pageable pageable) {
+        List<String> terms = terms(query);
+        String isbn = BookDocument.normalizeIsbn(query);
+        record Hit(int id, int score) {
+        }
+        List<Hit> hits = documents.values().stream()
+                .filter(document -> !document.archived())
+                .map(document -> new Hit(document.id(), score(document, terms, isbn)))
+                .filter(hit -> hit.score() > 0)
+                .sorted(Comparator.comparingInt(Hit::score).reversed().thenComparing(Hit::id, Comparator.reverseOrder()))
+                .toList();
+        List<Integer> page = hits.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(Hit::id)
+                .toList();
+        return new PageImpl<>(page, pageable, hits.size());
+    }
+
+    /**
+     * An exact ISBN match, or the sum of the best field weight of each term. Every term has to match.
+     */
+    private static int score(BookDocument document, List<String> terms, String isbn) {
+        if (!isbn.isEmpty() && isbn.equals(BookDocument.normalizeIsbn(document.isbn()))) {
+            return ISBN_WEIGHT;
+        }
+        if (terms.isEmpty()) {
+            return 0;
+        }
+        List<String> title = terms(document.title());
+        List<String> authorName = terms(document.authorName());
+        List<String> synopsis = terms(document.synopsis());
+        int score = 0;
+        for (String term : terms) {
+            int termScore = title.contains(term) ? TITLE_WEIGHT
+                    : authorName.contains(term) ? AUTHOR_WEIGHT
+                    : synopsis.contains(term) ? SYNOPSIS_WEIGHT
+                    : 0;
+            if (termScore == 0) {
+                return 0;
+            }
+            score += termScore;
+        }
+        return score;
+    }
+
+    private static List<String> terms(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return TERM_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,230 @@
+package com.onion.book_network.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the index in a Lucene directory on the local disk, for deployments without an Elasticsearch cluster.
+ * Updates are visible to searches right away through a near-real-time reader, they are made durable by
+ * {@link #commit()} every application.search.lucene.commit-interval-ms and on shutdown.
+ * <p>
+ * The outbox entries of uncommitted updates are already gone after a crash, so an index that was not
+ * closed cleanly asks for a rebuild, see {@link #requiresRebuild()}. One index per node, like the
+ * in-memory index it is meant for single instance deployments.
+ */
+@Slf4j
+public class LuceneBookSearchService implements BookSearchService, AutoCloseable {
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String AUTHOR_NAME = "authorName";
+    private static final String SYNOPSIS = "synopsis";
+    private static final String ISBN = "isbn";
+    private static final String ARCHIVED = "archived";
+    // Same boosts as the Elasticsearch query
+    private static final float TITLE_BOOST = 3;
+    private static final float AUTHOR_BOOST = 2;
+    private static final float ISBN_BOOST = 5;
+
+    // Commit user data telling whether the last writer closed the index
+    private static final String SHUTDOWN = "shutdown";
+    private static final String CLEAN = "clean";
+    private static final String UNCLEAN = "unclean";
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final boolean requiresRebuild;
+
+    public LuceneBookSearchService(Path indexPath) throws IOException {
+        this.directory = FSDirectory.open(Files.createDirectories(indexPath));
+        this.requiresRebuild = !closedCleanly(directory);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        if (requiresRebuild) {
+            // Whatever the crashed writer left is incomplete, the rebuild starts from an empty index
+            writer.deleteAll();
+        }
+        // Until close() says otherwise, every commit marks the index as not closed cleanly
+        writer.setLiveCommitData(Map.of(SHUTDOWN, UNCLEAN).entrySet());
+        writer.commit();
+        this.searcherManager = new SearcherManager(writer, null);
+        log.info("Opened search index at {}", indexPath.toAbsolutePath());
+    }
+
+    @Override
+    public boolean requiresRebuild() {
+        return requiresRebuild;
+    }
+
+    @Override
+    public void index(Collection<BookDocument> documents) {
+        try {
+            for (BookDocument document : documents) {
+                writer.updateDocument(new Term(ID, String.valueOf(document.id())), toDocument(document));
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to update the search index", e);
+        }
+    }
+
+    @Override
+    public void delete(Collection<Integer> bookIds) {
+        try {
+            for (Integer bookId : bookIds) {
+                writer.deleteDocuments(new Term(ID, String.valueOf(bookId)));
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to update the search index", e);
+        }
+    }
+
+    @Override
+    public Page<Integer> search(String query, Pageable pageable) {
+        Query luceneQuery = toQuery(query);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int end = (int) pageable.getOffset() + pageable.getPageSize();
+                TopDocs topDocs = searcher.search(luceneQuery, end);
+                // Beyond a threshold hits are only counted as a lower bound
+                long total = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                        ? topDocs.totalHits.value
+                        : searcher.count(luceneQuery);
+                StoredFields storedFields = searcher.storedFields();
+                List<Integer> bookIds = new ArrayList<>();
+                for (int i = (int) pageable.getOffset(); i < topDocs.scoreDocs.length; i++) {
+                    ScoreDoc hit = topDocs.scoreDocs[i];
+                    bookIds.add(Integer.valueOf(storedFields.document(hit.doc).get(ID)));
+                }
+                return new PageImpl<>(bookIds, pageable, total);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to search the index", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.search.lucene.commit-interval-ms:30000}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.setLiveCommitData(Map.of(SHUTDOWN, CLEAN).entrySet());
+        writer.commit();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Every term has to match one of the text fields, or the whole query the ISBN. Archived books never match.
+     */
+    private Query toQuery(String query) {
+        BooleanQuery.Builder text = new BooleanQuery.Builder();
+        List<String> terms = analyze(query);
+        for (String term : terms) {
+            text.add(new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(TITLE, term)), TITLE_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new TermQuery(new Term(AUTHOR_NAME, term)), AUTHOR_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(SYNOPSIS, term)), BooleanClause.Occur.SHOULD)
+                    .build(), BooleanClause.Occur.MUST);
+        }
+        BooleanQuery.Builder builder = new BooleanQuery.Builder()
+                .add(new BoostQuery(new TermQuery(new Term(ISBN, BookDocument.normalizeIsbn(query))), ISBN_BOOST), BooleanClause.Occur.SHOULD)
+                .add(new TermQuery(new Term(ARCHIVED, Boolean.FALSE.toString())), BooleanClause.Occur.FILTER)
+                .setMinimumNumberShouldMatch(1);
+        if (!terms.isEmpty()) {
+            builder.add(text.build(), BooleanClause.Occur.SHOULD);
+        }
+        return builder.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private static Document toDocument(BookDocument book) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(book.id()), Field.Store.YES));
+        addText(document, TITLE, book.title());
+        addText(document, AUTHOR_NAME, book.authorName());
+        addText(document, SYNOPSIS, book.synopsis());
+        if (book.isbn() != null) {
+            document.add(new StringField(ISBN, BookDocument.normalizeIsbn(book.isbn()), Field.Store.NO));
+        }
+        document.add(new StringField(ARCHIVED, String.valueOf(book.archived()), Field.Store.NO));
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    private static boolean closedCleanly(Directory directory) throws IOException {
+        if (!DirectoryReader.indexExists(directory)) {
+            return false;
+        }
+        return CLEAN.equals(SegmentInfos.readLatestCommit(directory).getUserData().get(SHUTDOWN));
+    }
+}
@@ -0,0 +1,13 @@
+package com.onion.book_network.security;
+
+/**
+ * What services need to know about the caller. Implemented by the {@link com.onion.book_network.user.User}
+ * entity and by {@link JwtPrincipal}, so code reading the principal works in both authentication modes.
+ * Load the entity (e.g. with {@code UserRepository.getReferenceById}) only when it is really needed.
+ */
+public interface AuthenticatedUser {
+
+    Integer getId();
+
+    String getEmail();
+}
@@ -1,27 +1,76 @@
 package com.onion.book_network.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
 
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * Authenticates requests carrying a bearer token. Registered only inside the security filter chain,
+ * see {@link SecurityConfig#jwtAuthenticationFilterRegistration}.
+ * <p>
+ * Publishes {@value #PHASE_TIMER} (tag {@code phase}: verify, principal) and
+ * {@value #REJECTION_COUNTER} (tag {@code reason}) to Micrometer.
+ */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    static final String PHASE_TIMER = "auth.jwt.phase";
+    static final String REJECTION_COUNTER = "auth.jwt.rejections";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
+    // Build the principal from the token claims instead of loading the user from the database
+    private final boolean statelessPrincipal;
+
+    // jjwt parses and verifies the signature in a single call, both are covered by the verify phase
+    private final Timer verifyTimer;
+    private final Timer principalTimer;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            UserDetailsService userDetailsService,
+            MeterRegistry meterRegistry,
+            @Value("${application.security.jwt.stateless-principal:false}") boolean statelessPrincipal
+    ) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.meterRegistry = meterRegistry;
+        this.statelessPrincipal = statelessPrincipal;
+        this.verifyTimer = phaseTimer("verify");
+        this.principalTimer = phaseTimer("principal");
+    }
 
     @Override
     protected void doFilterInternal(
@@ -29,37 +78,100 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
-        final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
-        
-        // Skip filter if no Bearer token is present
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
+        final String authHeader = request.getHeader(AUTHORIZATION);
+
+        // Skip unless a bearer token is present and the request is not authenticated yet
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            authenticate(authHeader.substring(BEARER_PREFIX.length()).trim(), request);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(String jwt, HttpServletRequest request) {
+        final Claims claims;
+        Timer.Sample verify = Timer.start(meterRegistry);
+        try {
+            // Signature and expiration are verified once, everything else is read from the claims
+            claims = jwtService.validateToken(jwt);
+        } catch (JwtException e) {
+            reject(rejectionReason(e));
             return;
+        } finally {
+            verify.stop(verifyTimer);
         }
-        
-        // Extract token and user email
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
-        
-        // If user is not authenticated yet and email is present in token
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            
-            // If token is valid, set the authentication in the security context
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+
+        Timer.Sample resolve = Timer.start(meterRegistry);
+        try {
+            final JwtPrincipal principal = statelessPrincipal ? jwtService.toPrincipal(claims) : null;
+            if (principal != null) {
+                setAuthentication(principal, principal.authorities(), request);
+                return;
+            }
+            final String userEmail = claims.getSubject();
+            if (userEmail == null) {
+                reject("missing_subject");
+                return;
+            }
+            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+            if (!jwtService.isTokenValid(claims, userDetails)) {
+                reject("subject_mismatch");
+                return;
             }
+            setAuthentication(userDetails, userDetails.getAuthorities(), request);
+        } catch (UsernameNotFoundException e) {
+            reject("user_not_found");
+        } finally {
+            resolve.stop(principalTimer);
         }
-        filterChain.doFilter(request, response);
+    }
+
+    private void setAuthentication(
+            Object principal,
+            Collection<? extends GrantedAuthority> authorities,
+            HttpServletRequest request
+    ) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                authorities
+        );
+        authToken.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request)
+        );
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+
+    private void reject(String reason) {
+        logger.debug("Rejected JWT: {}", reason);
+        Counter.builder(REJECTION_COUNTER)
+                .description("Bearer tokens that did not authenticate the request")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String rejectionReason(JwtException e) {
+        if (e instanceof ExpiredJwtException) {
+            return "expired";
+        }
+        if (e instanceof SignatureException) {
+            return "bad_signature";
+        }
+        if (e instanceof MalformedJwtException) {
+            return "malformed";
+        }
+        if (e instanceof UnsupportedJwtException) {
+            return "unsupported";
+        }
+        return "invalid";
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder(PHASE_TIMER)
+                .description("Time spent authenticating bearer tokens, per phase")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 }
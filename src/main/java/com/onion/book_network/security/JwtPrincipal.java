@@ -0,0 +1,33 @@
+package com.onion.book_network.security;
+
+import java.security.Principal;
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Lightweight principal rebuilt from verified token claims, used when
+ * application.security.jwt.stateless-principal is enabled.
+ */
+public record JwtPrincipal(
+        Integer id,
+        String email,
+        String fullName,
+        Collection<? extends GrantedAuthority> authorities
+) implements AuthenticatedUser, Principal {
+
+    @Override
+    public Integer getId() {
+        return id;
+    }
+
+    @Override
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
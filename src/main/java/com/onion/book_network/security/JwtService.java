@@ -1,8 +1,10 @@
 package com.onion.book_network.security;
 
 import java.security.Key;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -10,11 +12,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 
@@ -23,11 +29,21 @@ public class JwtService {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
 
-    @Value("${application.security.jwt.secret-key}")
-    private String secretKey;
-
-    @Value("${application.security.jwt.expiration}")
-    private long jwtExpiration;
+    private final Key signingKey;
+    // JwtParser is immutable and thread-safe, so one instance serves every request
+    private final JwtParser jwtParser;
+    private final long jwtExpiration;
+
+    public JwtService(
+            @Value("${application.security.jwt.secret-key}") String secretKey,
+            @Value("${application.security.jwt.expiration}") long jwtExpiration
+    ) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.jwtExpiration = jwtExpiration;
+    }
 
     public String generateToken(UserDetails userDetails) {
         return generateToken(new HashMap<>(), userDetails);
@@ -50,47 +66,69 @@ public class JwtService {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiration of the token once and returns its claims.
+     * Callers should read everything they need from the returned claims instead of
+     * calling the extract* methods, each of which parses the token again.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims validateToken(String token) {
+        try {
+            return jwtParser.parseClaimsJws(token).getBody();
+        } catch (JwtException e) {
+            logger.warn("Error parsing JWT token: {}", e.getMessage());
+            throw e;
+        } catch (IllegalArgumentException e) {
+            logger.warn("Error parsing JWT token: {}", e.getMessage());
+            throw new MalformedJwtException("Invalid JWT token", e);
+        }
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = validateToken(token);
         return claimsResolver.apply(claims);
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return isTokenValid(validateToken(token), userDetails);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Checks already validated claims against the loaded user without parsing the token again.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return username != null && username.equals(userDetails.getUsername()) && !isTokenExpired(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSignInKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-        } catch (Exception e) {
-            logger.warn("Error parsing JWT token: {}", e.getMessage());
-            throw new RuntimeException("Invalid JWT token", e);
+    /**
+     * Rebuilds the caller from already validated claims without touching the database.
+     * Returns null for tokens issued before the id claim was added, callers then fall back to loading the user.
+     */
+    public JwtPrincipal toPrincipal(Claims claims) {
+        Integer id = claims.get("id", Integer.class);
+        if (id == null || claims.getSubject() == null) {
+            return null;
         }
+        Collection<?> authorities = claims.get("authorities", Collection.class);
+        List<GrantedAuthority> grantedAuthorities = authorities == null
+                ? List.of()
+                : authorities.stream()
+                        .<GrantedAuthority>map(authority -> new SimpleGrantedAuthority(authority.toString()))
+                        .toList();
+        return new JwtPrincipal(id, claims.getSubject(), claims.get("fullName", String.class), grantedAuthorities);
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 }
@@ -1,6 +1,7 @@
 package com.onion.book_network.security;
 
 import com.onion.book_network.user.UserRepository;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -15,16 +16,20 @@ import org.slf4j.LoggerFactory;
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
+    public static final String USERS_CACHE = "users";
+
     private final UserRepository userRepository;
     private static final Logger logger = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
 
     /**
      * Load user by email for Spring Security authentication.
-     * Caches the user details to reduce database load on repeated logins.
+     * Caches the user details so authenticated requests do not hit the users and user_roles tables.
+     * Entries expire after the TTL configured in spring.cache.*, call {@link #evictUser(String)}
+     * whenever the account state or roles change.
      */
     @Override
     @Transactional
-    @Cacheable(value = "users", key = "#email")
+    @Cacheable(value = USERS_CACHE, key = "#email")
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> {
@@ -32,4 +37,12 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                     return new UsernameNotFoundException("User Not Found: " + email);
                 });
     }
+
+    /**
+     * Drop the cached user details so the next request reloads them from the database.
+     */
+    @CacheEvict(value = USERS_CACHE, key = "#email")
+    public void evictUser(String email) {
+        logger.debug("Evicted cached user details for: {}", email);
+    }
 }
@@ -0,0 +1,95 @@
+-- Schema as created by Hibernate (ddl-auto=update) before the migrations were introduced.
+-- Existing databases are baselined at this version instead of running it, see spring.flyway.baseline-on-migrate.
+
+CREATE SEQUENCE book_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE book_transaction_history_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE feedback_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id                 INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    first_name         VARCHAR(255) NOT NULL,
+    last_name          VARCHAR(255) NOT NULL,
+    date_of_birth      DATE,
+    email              VARCHAR(255) NOT NULL UNIQUE,
+    password           VARCHAR(255) NOT NULL,
+    account_locked     BOOLEAN      NOT NULL,
+    enabled            BOOLEAN      NOT NULL,
+    created_date       TIMESTAMP(6) NOT NULL,
+    last_modified_date TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE roles (
+    id                 INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    name               VARCHAR(255) NOT NULL UNIQUE,
+    created_date       TIMESTAMP(6) NOT NULL,
+    last_modified_date TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE user_roles (
+    user_id INTEGER NOT NULL,
+    role_id INTEGER NOT NULL
+);
+
+CREATE TABLE tokens (
+    id           INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    token        VARCHAR(255) NOT NULL UNIQUE,
+    created_at   TIMESTAMP(6) NOT NULL,
+    expires_at   TIMESTAMP(6) NOT NULL,
+    validated_at TIMESTAMP(6),
+    user_id      INTEGER      NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE book (
+    id                 INTEGER      NOT NULL,
+    title              VARCHAR(255) NOT NULL,
+    author_name        VARCHAR(255) NOT NULL,
+    isbn               VARCHAR(17),
+    synopsis           VARCHAR(255),
+    book_cover         VARCHAR(255),
+    archived           BOOLEAN      NOT NULL,
+    shareable          BOOLEAN      NOT NULL,
+    owner_id           INTEGER,
+    created_date       TIMESTAMP(6) NOT NULL,
+    created_by         INTEGER      NOT NULL,
+    last_modified_date TIMESTAMP(6),
+    last_modified_by   INTEGER,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE book_transaction_history (
+    id                 INTEGER      NOT NULL,
+    user_id            INTEGER      NOT NULL,
+    book_id            INTEGER,
+    returned           BOOLEAN      NOT NULL,
+    return_approved    BOOLEAN      NOT NULL,
+    created_date       TIMESTAMP(6) NOT NULL,
+    created_by         INTEGER      NOT NULL,
+    last_modified_date TIMESTAMP(6),
+    last_modified_by   INTEGER,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE feedback (
+    id                 INTEGER      NOT NULL,
+    note               FLOAT(53),
+    comment            VARCHAR(255),
+    book_id            INTEGER,
+    created_date       TIMESTAMP(6) NOT NULL,
+    created_by         INTEGER      NOT NULL,
+    last_modified_date TIMESTAMP(6),
+    last_modified_by   INTEGER,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_token_value ON tokens (token);
+
+ALTER TABLE book ADD CONSTRAINT FKf3kbv8714eja4s6cga06b8agc FOREIGN KEY (owner_id) REFERENCES users;
+ALTER TABLE book_transaction_history ADD CONSTRAINT FKetks95hi6ay47e16sj6vdv9g9 FOREIGN KEY (book_id) REFERENCES book;
+ALTER TABLE book_transaction_history ADD CONSTRAINT FKgu3kjelbmqe77c4h2r3gjgdjg FOREIGN KEY (user_id) REFERENCES users;
+ALTER TABLE feedback ADD CONSTRAINT FKgclyi456gw0lcd6xcfj2l7r6s FOREIGN KEY (book_id) REFERENCES book;
+ALTER TABLE tokens ADD CONSTRAINT FK2dylsfo39lgjyqml2tbe0b0ss FOREIGN KEY (user_id) REFERENCES users;
+ALTER TABLE user_roles ADD CONSTRAINT FKh8ciramu9cc9q3qcqiv4ue8a6 FOREIGN KEY (role_id) REFERENCES roles;
+ALTER TABLE user_roles ADD CONSTRAINT FKhfh9dx7w3ubf1co1vdev94g3f FOREIGN KEY (user_id) REFERENCES users;
@@ -0,0 +1,12 @@
+-- Book changes waiting to be applied to the search index, written in the transaction of the change.
+-- No foreign key on book_id: a deleted book must still be removed from the index.
+CREATE TABLE book_search_outbox (
+    id           BIGINT       GENERATED BY DEFAULT AS IDENTITY,
+    book_id      INTEGER      NOT NULL,
+    created_date TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Index every existing book once
+INSERT INTO book_search_outbox (book_id, created_date)
+SELECT id, CURRENT_TIMESTAMP FROM book;
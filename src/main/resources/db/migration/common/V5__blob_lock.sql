@@ -0,0 +1,16 @@
+-- Lock rows serializing uploads that reuse a stored file with the deletion of unreferenced files,
+-- see BlobLocks. Keys are hashed onto a fixed number of stripes, all created here.
+CREATE TABLE blob_lock (
+    stripe INTEGER NOT NULL,
+    PRIMARY KEY (stripe)
+);
+
+INSERT INTO blob_lock (stripe) VALUES
+    (0), (1), (2), (3), (4), (5), (6), (7),
+    (8), (9), (10), (11), (12), (13), (14), (15),
+    (16), (17), (18), (19), (20), (21), (22), (23),
+    (24), (25), (26), (27), (28), (29), (30), (31),
+    (32), (33), (34), (35), (36), (37), (38), (39),
+    (40), (41), (42), (43), (44), (45), (46), (47),
+    (48), (49), (50), (51), (52), (53), (54), (55),
+    (56), (57), (58), (59), (60), (61), (62), (63);
@@ -0,0 +1,13 @@
+-- Book columns added since the baseline schema: the content hash of the cover and the rating aggregates.
+-- IF NOT EXISTS covers databases where ddl-auto=update already created some of them.
+ALTER TABLE book ADD COLUMN IF NOT EXISTS book_cover_hash VARCHAR(255);
+ALTER TABLE book ADD COLUMN IF NOT EXISTS rating_sum FLOAT(53) DEFAULT 0 NOT NULL;
+ALTER TABLE book ADD COLUMN IF NOT EXISTS rating_count INTEGER DEFAULT 0 NOT NULL;
+
+-- Aggregates of the feedbacks written before, kept up to date by FeedbackService from here on
+UPDATE book
+SET rating_sum = COALESCE((SELECT SUM(feedback.note) FROM feedback WHERE feedback.book_id = book.id), 0),
+    rating_count = (SELECT COUNT(*) FROM feedback WHERE feedback.book_id = book.id);
+
+-- BookRepository.countByBookCover, checked before a replaced cover is deleted
+CREATE INDEX IF NOT EXISTS idx_book_book_cover ON book (book_cover);
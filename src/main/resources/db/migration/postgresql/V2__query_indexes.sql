@@ -0,0 +1,31 @@
+-- One index per repository access path. PostgreSQL does not index foreign keys on its own.
+-- PostgreSQL only (partial indexes, CONCURRENTLY), hence the vendor location, see spring.flyway.locations.
+-- Built concurrently so existing tables stay writable, Flyway runs this script outside a transaction.
+-- IF EXISTS / IF NOT EXISTS cover databases where ddl-auto=update already created some of them.
+
+-- BookRepository.findDisplayableBooks(After) and the count of findAllDisplayableBooks:
+-- only non-archived books, already in keyset order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_book_displayable_created
+    ON book (created_date DESC, id DESC)
+    WHERE archived = false;
+
+-- BookRepository.findBooksByOwner(After), also the entry point of an owner's returned books
+DROP INDEX CONCURRENTLY IF EXISTS idx_book_owner;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_book_owner_created
+    ON book (owner_id, created_date DESC, id DESC);
+
+-- FeedBackRepository.findFeedbacksByBook(After), findAllByBookId and the rating recomputation
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_feedback_book_created
+    ON feedback (book_id, created_date DESC, id DESC);
+
+-- BookTransactionHistoryRepository.findBorrowedBooks(After) and findAllBorrowedBooks
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_book_transaction_history_user_created
+    ON book_transaction_history (user_id, created_date, id);
+
+-- BookTransactionHistoryRepository.findLoanStatus and the return transitions
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_book_transaction_history_book_open
+    ON book_transaction_history (book_id, return_approved, returned);
+
+-- Roles of a user, loaded eagerly with every User (the join table has no key of its own)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_roles_user
+    ON user_roles (user_id);
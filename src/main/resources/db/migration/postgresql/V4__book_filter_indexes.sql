@@ -0,0 +1,16 @@
+-- Filters and sort orders of GET /books, see BookSpecification and BookSort.
+-- Same conventions as V2: PostgreSQL only, built concurrently outside a transaction.
+-- sort=newest and sort=oldest both walk idx_book_displayable_created, forwards or backwards.
+
+-- sort=title over non-archived books, id breaks ties between equal titles
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_book_displayable_title
+    ON book (title, id)
+    WHERE archived = false;
+
+-- author filter, compared case-insensitively through lower(author_name)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_book_author_lower
+    ON book (lower(author_name));
+
+-- isbnPrefix filter, LIKE 'prefix%' needs the pattern operator class outside the C collation
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_book_isbn_prefix
+    ON book (isbn varchar_pattern_ops);
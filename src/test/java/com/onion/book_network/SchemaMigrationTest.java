@@ -0,0 +1,113 @@
+package com.onion.book_network;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.onion.book_network.common.TestAuditingConfig;
+
+/**
+ * Applies the portable migrations to H2 and lets Hibernate validate the entities against the result, so a
+ * mapping change without a migration fails here. The PostgreSQL only scripts in db/migration/postgresql
+ * (partial indexes, CREATE INDEX CONCURRENTLY) are not part of the H2 chain. Databases that predate the
+ * migrations are baselined at V1, the upgrade of such a database is checked the same way.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@Import(TestAuditingConfig.class)
+@ActiveProfiles("test")
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JpaProperties jpaProperties;
+
+    @Autowired
+    private HibernateProperties hibernateProperties;
+
+    @Test
+    void migrations_ShouldMatchEntityMappings() {
+        MigrationInfo[] applied = flyway.info().applied();
+        assertTrue(applied.length > 0);
+        for (MigrationInfo migration : applied) {
+            assertEquals(MigrationState.SUCCESS, migration.getState(), migration.getScript());
+        }
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    @Test
+    void migrations_ShouldUpgradeBaselinedPreSeriesDatabase() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("db/pre-series-schema.sql")
+                .build();
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+            jdbcTemplate.update("""
+                    INSERT INTO book (id, title, author_name, archived, shareable, created_date, created_by)
+                    VALUES (1, 'Dune', 'Frank Herbert', false, true, CURRENT_TIMESTAMP, 1)
+                    """);
+            jdbcTemplate.update("""
+                    INSERT INTO feedback (id, note, book_id, created_date, created_by)
+                    VALUES (1, 4, 1, CURRENT_TIMESTAMP, 1), (2, 5, 1, CURRENT_TIMESTAMP, 1)
+                    """);
+
+            // As spring.flyway.baseline-on-migrate does for databases created before the migrations
+            Flyway.configure()
+                    .configuration(flyway.getConfiguration())
+                    .dataSource(database)
+                    .baselineOnMigrate(true)
+                    .baselineVersion("1")
+                    .load()
+                    .migrate();
+
+            assertEquals(9.0, jdbcTemplate.queryForObject("SELECT rating_sum FROM book WHERE id = 1", Double.class));
+            assertEquals(2, jdbcTemplate.queryForObject("SELECT rating_count FROM book WHERE id = 1", Integer.class));
+            assertDoesNotThrow(() -> validateEntities(database));
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    @Test
+    void vendorMigrations_ShouldNotApplyToH2() {
+        for (MigrationInfo migration : flyway.info().all()) {
+            assertFalse(migration.getScript().contains("postgresql"), migration.getScript());
+        }
+    }
+
+    // Builds a second persistence unit on the database with the application's settings, ddl-auto=validate included
+    private void validateEntities(DataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setPackagesToScan(BookNetworkApiApplication.class.getPackageName());
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setJpaPropertyMap(
+                hibernateProperties.determineHibernateProperties(jpaProperties.getProperties(), new HibernateSettings()));
+        entityManagerFactory.afterPropertiesSet();
+        entityManagerFactory.destroy();
+    }
+}
@@ -0,0 +1,138 @@
+package com.onion.book_network.book;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.onion.book_network.common.TestAuditingConfig;
+import com.onion.book_network.exception.OperationNotPermittedException;
+import com.onion.book_network.file.BlobLocks;
+import com.onion.book_network.file.FileStorageService;
+import com.onion.book_network.history.BookTransactionHistoryRepository;
+import com.onion.book_network.search.BookSearchService;
+import com.onion.book_network.user.User;
+import com.onion.book_network.user.UserRepository;
+
+/**
+ * Many users borrow the same book at once, each in its own transaction, exactly one of them may get it.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TestAuditingConfig.class, BookService.class, BookMapper.class})
+@ActiveProfiles("test")
+class BookBorrowConcurrencyTest {
+
+    private static final int BORROWERS = 16;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookTransactionHistoryRepository transactionHistoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private FileStorageService fileStorageService;
+
+    @MockBean
+    private BlobLocks blobLocks;
+
+    @MockBean
+    private CoverRenditionService coverRenditionService;
+
+    @MockBean
+    private BookSearchService bookSearchService;
+
+    private Book book;
+    private final List<User> borrowers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(user("owner"));
+        book = bookRepository.save(Book.builder()
+                .title("Effective Java")
+                .authorName("Joshua Bloch")
+                .shareable(true)
+                .owner(owner)
+                .build());
+        for (int i = 0; i < BORROWERS; i++) {
+            borrowers.add(userRepository.save(user("borrower" + i)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionHistoryRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void borrowBook_ShouldLendBookOnlyOnce_WhenBorrowedConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(BORROWERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (User borrower : borrowers) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return bookService.borrowBook(book.getId(), new UsernamePasswordAuthenticationToken(borrower, null, List.of()));
+                }));
+            }
+            start.countDown();
+
+            int borrowed = 0;
+            for (Future<Integer> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    borrowed++;
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof OperationNotPermittedException
+                                    || e.getCause() instanceof ConcurrencyFailureException,
+                            "unexpected failure: " + e.getCause());
+                }
+            }
+
+            assertEquals(1, borrowed);
+            assertEquals(1, transactionHistoryRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static User user(String name) {
+        return User.builder()
+                .firstName(name)
+                .lastName("Doe")
+                .email(name + "@mail.com")
+                .password("password")
+                .enabled(true)
+                .roles(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.onion.book_network.book;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.onion.book_network.common.ResourceVersion;
+import com.onion.book_network.config.JacksonConfig;
+import com.onion.book_network.file.BlobMetadata;
+import com.onion.book_network.file.FileStorageService;
+
+class BookControllerTest {
+
+    private static final ResourceVersion VERSION = ResourceVersion.of(LocalDateTime.of(2024, 3, 10, 12, 0), "book", 1, 3);
+
+    private final BookService bookService = mock(BookService.class);
+    private final FileStorageService fileStorageService = mock(FileStorageService.class);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new BookController(bookService, fileStorageService))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(
+                        new JacksonConfig().objectMapper(new Jackson2ObjectMapperBuilder())))
+                .build();
+        when(bookService.findVersion(1)).thenReturn(Optional.of(VERSION));
+        when(bookService.findById(1)).thenReturn(BookResponse.builder().id(1).title("Dune").build());
+    }
+
+    @Test
+    void findBookById_ShouldSendValidators() throws Exception {
+        mockMvc.perform(get("/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, VERSION.eTag()))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.title").value("Dune"));
+    }
+
+    @Test
+    void findBookById_ShouldAnswerUnchangedBookWithNotModified() throws Exception {
+        mockMvc.perform(get("/books/1").header(HttpHeaders.IF_NONE_MATCH, VERSION.eTag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(bookService, never()).findById(1);
+    }
+
+    @Test
+    void findBookById_ShouldSendChangedBook() throws Exception {
+        mockMvc.perform(get("/books/1").header(HttpHeaders.IF_NONE_MATCH, "W/\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Dune"));
+    }
+
+    @Test
+    void findBookCover_ShouldServeImageInline() throws Exception {
+        when(bookService.findBookCover(1)).thenReturn(new BookCover("ab/cd/abcd.jpg", "abcd"));
+        when(fileStorageService.stat("ab/cd/abcd.jpg")).thenReturn(Optional.of(new BlobMetadata(16, 0)));
+
+        mockMvc.perform(get("/books/cover/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/jpeg"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION));
+    }
+
+    @Test
+    void findBookCover_ShouldSendLegacyNonImageAsAttachment() throws Exception {
+        when(bookService.findBookCover(1)).thenReturn(new BookCover("uploads/users/1/1700000000000.html", null));
+        when(fileStorageService.stat("uploads/users/1/1700000000000.html")).thenReturn(Optional.of(new BlobMetadata(16, 0)));
+
+        mockMvc.perform(get("/books/cover/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/octet-stream"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.onion.book_network.book;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.onion.book_network.common.PageResponse;
+import com.onion.book_network.config.JacksonConfig;
+import com.onion.book_network.file.FileStorageService;
+import com.onion.book_network.handler.GlobalExceptionHandler;
+
+class BookFieldsResponseAdviceTest {
+
+    private final BookService bookService = mock(BookService.class);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new BookController(bookService, mock(FileStorageService.class)))
+                .setControllerAdvice(new BookFieldsResponseAdvice(), new GlobalExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(
+                        new JacksonConfig().objectMapper(new Jackson2ObjectMapperBuilder())))
+                .build();
+        PageResponse<BookResponse> page = PageResponse.<BookResponse>builder()
+                .content(List.of(BookResponse.builder()
+                        .id(1)
+                        .title("Dune")
+                        .authorName("Frank Herbert")
+                        .synopsis("Spice")
+                        .rate(4.5)
+                        .build()))
+                .build();
+        when(bookService.findAllBooks(anyInt(), anyInt(), any(), anyBoolean(), any(), any(), any(), any())).thenReturn(page);
+    }
+
+    @Test
+    void fields_ShouldSerializeOnlyTheRequestedProperties() throws Exception {
+        mockMvc.perform(get("/books").param("fields", "title, rate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Dune"))
+                .andExpect(jsonPath("$.content[0].rate").value(4.5))
+                .andExpect(jsonPath("$.content[0].authorName").doesNotExist())
+                .andExpect(jsonPath("$.content[0].synopsis").doesNotExist())
+                .andExpect(jsonPath("$.content[0].shareable").doesNotExist());
+
+        verify(bookService).findAllBooks(eq(0), eq(10), isNull(), eq(true), any(), eq("newest"),
+                eq(EnumSet.of(BookField.ID, BookField.TITLE, BookField.RATE)), any());
+    }
+
+    @Test
+    void noFields_ShouldSerializeEveryProperty() throws Exception {
+        mockMvc.perform(get("/books"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].synopsis").value("Spice"))
+                .andExpect(jsonPath("$.content[0].shareable").value(false));
+
+        verify(bookService).findAllBooks(eq(0), eq(10), isNull(), eq(true), any(), eq("newest"), isNull(), any());
+    }
+
+    @Test
+    void unknownField_ShouldBeRejected() throws Exception {
+        mockMvc.perform(get("/books").param("fields", "title,password"))
+                .andExpect(status().isBadRequest());
+    }
+}
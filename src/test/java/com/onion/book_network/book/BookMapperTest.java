@@ -0,0 +1,54 @@
+package com.onion.book_network.book;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.onion.book_network.user.User;
+
+class BookMapperTest {
+
+    private static final String COVER_HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    private final BookMapper bookMapper = new BookMapper();
+
+    @Test
+    void toBookResponse_WithCover_ShouldReturnVersionedCoverUrl() {
+        Book book = Book.builder()
+                .id(42)
+                .title("Effective Java")
+                .authorName("Joshua Bloch")
+                .bookCover("does/not/exist.jpg")
+                .bookCoverHash(COVER_HASH)
+                .owner(User.builder().firstName("Jane").lastName("Doe").build())
+                .build();
+
+        BookResponse response = bookMapper.toBookResponse(book);
+
+        assertEquals("/books/cover/42?v=9f86d081884c7d65", response.getCoverUrl());
+        assertEquals("/books/cover/42?v=9f86d081884c7d65&size=small", response.getThumbnailUrl());
+        assertEquals(COVER_HASH, response.getCoverHash());
+        assertEquals("Jane Doe", response.getOwner());
+    }
+
+    @Test
+    void toBookResponse_WithoutCover_ShouldNotReturnCoverUrl() {
+        Book book = Book.builder()
+                .id(42)
+                .title("Effective Java")
+                .build();
+
+        BookResponse response = bookMapper.toBookResponse(book);
+
+        assertNull(response.getCoverUrl());
+        assertNull(response.getThumbnailUrl());
+        assertNull(response.getCoverHash());
+    }
+
+    @Test
+    void toCoverUrl_WithoutHash_ShouldReturnUnversionedUrl() {
+        assertEquals("/books/cover/7", bookMapper.toCoverUrl(7, "uploads/users/1/cover.png", null));
+        assertEquals("/books/cover/7?size=medium",
+                bookMapper.toCoverUrl(7, "uploads/users/1/cover.png", null, CoverRendition.MEDIUM));
+    }
+}
@@ -0,0 +1,187 @@
+package com.onion.book_network.book;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.onion.book_network.common.PageResponse;
+import com.onion.book_network.common.TestAuditingConfig;
+import com.onion.book_network.feedback.Feedback;
+import com.onion.book_network.user.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(TestAuditingConfig.class)
+@ActiveProfiles("test")
+class BookRepositoryTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final BookMapper bookMapper = new BookMapper();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User owner = entityManager.persist(User.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane@mail.com")
+                .password("password")
+                .enabled(true)
+                .roles(List.of())
+                .build());
+
+        for (int i = 0; i < 3; i++) {
+            Book book = entityManager.persist(Book.builder()
+                    .title("Book " + i)
+                    .authorName("Author " + i)
+                    .isbn("978013468599" + i)
+                    .synopsis("Synopsis " + i)
+                    .shareable(true)
+                    .owner(owner)
+                    .build());
+            for (int note = 1; note <= 4; note++) {
+                entityManager.persist(Feedback.builder()
+                        .note((double) note)
+                        .comment("Comment " + note)
+                        .book(book)
+                        .build());
+            }
+        }
+        entityManager.persist(Book.builder()
+                .title("Archived")
+                .authorName("Author")
+                .archived(true)
+                .owner(owner)
+                .build());
+        entityManager.flush();
+        // Feedbacks were inserted directly, derive the aggregates like the backfill job does
+        bookRepository.recomputeRatings(LocalDateTime.now());
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllDisplayableBooks_ShouldLoadOwnerAndRatingWithPageAndCountQueryOnly() {
+        Page<BookListing> books = bookRepository.findAllDisplayableBooks(
+                PageRequest.of(0, 2, Sort.by("createdDate").descending()), null);
+        List<BookResponse> responses = books.stream()
+                .map(bookMapper::toBookResponse)
+                .toList();
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(3, books.getTotalElements());
+        assertEquals(2, responses.size());
+        responses.forEach(response -> {
+            assertEquals("Jane Doe", response.getOwner());
+            assertEquals(2.5, response.getRate());
+        });
+    }
+
+    @Test
+    void findDisplayableBooksAfter_ShouldWalkAllBooksWithoutCountQuery() {
+        Slice<BookListing> firstPage = bookRepository.findDisplayableBooks(PageRequest.of(0, 2));
+        BookListing last = firstPage.getContent().get(1);
+        Slice<BookListing> secondPage = bookRepository.findDisplayableBooksAfter(
+                last.createdDate(), last.id(), PageRequest.of(0, 2));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertTrue(firstPage.hasNext());
+        assertFalse(secondPage.hasNext());
+        assertEquals(1, secondPage.getNumberOfElements());
+        List<Integer> ids = new ArrayList<>(firstPage.map(BookListing::id).getContent());
+        ids.add(secondPage.getContent().get(0).id());
+        assertEquals(3, ids.stream().distinct().count());
+    }
+
+    @Test
+    void findDisplayableBooks_ShouldServeOffsetPagesWithoutCountQuery() {
+        Slice<BookListing> firstPage = bookRepository.findDisplayableBooks(PageRequest.of(0, 2));
+        Slice<BookListing> secondPage = bookRepository.findDisplayableBooks(PageRequest.of(1, 2));
+        PageResponse<BookResponse> response = PageResponse.of(secondPage, bookMapper::toBookResponse);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertTrue(firstPage.hasNext());
+        assertEquals(1, response.getContent().size());
+        assertTrue(response.isLast());
+        assertNull(response.getTotalElements());
+        assertNull(response.getTotalPages());
+    }
+
+    @Test
+    void addRating_ShouldUpdateAggregatesWithoutLoadingFeedbacks() {
+        Integer bookId = bookRepository.findAll().get(0).getId();
+        entityManager.clear();
+
+        bookRepository.addRating(bookId, 5.0, LocalDateTime.now());
+        Book book = bookRepository.findById(bookId).orElseThrow();
+
+        assertEquals(5, book.getTotalFeedbacks());
+        assertEquals(3.0, book.getRate());
+        assertFalse(Hibernate.isInitialized(book.getFeedbacks()));
+    }
+
+    @Test
+    void addRating_ShouldSurviveTheFlushOfALoadedBook() {
+        Integer bookId = bookRepository.findAll().get(0).getId();
+        entityManager.clear();
+        Book book = bookRepository.findById(bookId).orElseThrow();
+
+        // A feedback is given while the book is loaded, then the stale entity is modified and flushed
+        bookRepository.addRating(bookId, 5.0, LocalDateTime.now());
+        book.setShareable(!book.isShareable());
+        entityManager.flush();
+        entityManager.clear();
+
+        Book reloaded = bookRepository.findById(bookId).orElseThrow();
+        assertEquals(5, reloaded.getTotalFeedbacks());
+        assertEquals(3.0, reloaded.getRate());
+        assertEquals(book.isShareable(), reloaded.isShareable());
+    }
+
+    @Test
+    void addRating_ShouldChangeTheBookVersion() {
+        Integer bookId = bookRepository.findAll().get(0).getId();
+        entityManager.clear();
+        BookVersion before = bookRepository.findVersionById(bookId).orElseThrow();
+
+        bookRepository.addRating(bookId, 5.0, LocalDateTime.now());
+        BookVersion after = bookRepository.findVersionById(bookId).orElseThrow();
+
+        assertEquals(before.ratingCount() + 1, after.ratingCount());
+        assertNotNull(after.lastModifiedDate());
+        assertNotEquals(before.book().eTag(), after.book().eTag());
+        assertNotEquals(before.feedbacks(1).eTag(), after.feedbacks(1).eTag());
+        // The reader's own feedback is marked, so each reader gets their own tag
+        assertNotEquals(after.feedbacks(1).eTag(), after.feedbacks(2).eTag());
+    }
+}
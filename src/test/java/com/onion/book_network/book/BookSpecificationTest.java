@@ -0,0 +1,221 @@
+package com.onion.book_network.book;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.onion.book_network.common.PageCursor;
+import com.onion.book_network.common.TestAuditingConfig;
+import com.onion.book_network.user.User;
+
+@DataJpaTest
+@Import(TestAuditingConfig.class)
+@ActiveProfiles("test")
+class BookSpecificationTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 10, 12, 0);
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User owner;
+    private User otherOwner;
+
+    @BeforeEach
+    void setUp() {
+        owner = persistUser("jane@mail.com");
+        otherOwner = persistUser("john@mail.com");
+        // title, author, isbn, shareable, rating sum / count, owner, days after DAY
+        persistBook("Dune", "Frank Herbert", "9780441013593", true, 9, 2, owner, 0);
+        persistBook("Children of Dune", "Frank Herbert", "9780593098240", false, 4.4, 1, owner, 1);
+        persistBook("Anathem", "Neal Stephenson", "9780061474095", true, 0, 0, otherOwner, 2);
+        persistBook("Snow Crash", "Neal Stephenson", "97805_3380958", true, 17.8, 4, otherOwner, 3);
+        Book archived = persistBook("Archived", "Frank Herbert", "9780441013594", true, 5, 1, owner, 4);
+        archived.setArchived(true);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void matching_ShouldCombineCriteriaAndSkipArchivedBooks() {
+        BookFilter filter = new BookFilter("frank herbert", "978", true, null, null, null);
+
+        assertEquals(List.of("Dune"), titles(displayable(filter), BookSort.NEWEST));
+    }
+
+    @Test
+    void matching_ShouldIgnoreUnsetCriteria() {
+        assertEquals(List.of("Snow Crash", "Anathem", "Children of Dune", "Dune"),
+                titles(displayable(BookFilter.NONE), BookSort.NEWEST));
+    }
+
+    @Test
+    void isbnStartsWith_ShouldTreatWildcardsLiterally() {
+        assertEquals(List.of("Snow Crash"),
+                titles(displayable(new BookFilter(null, "97805_", null, null, null, null)), BookSort.NEWEST));
+        assertEquals(List.of(),
+                titles(displayable(new BookFilter(null, "%", null, null, null, null)), BookSort.NEWEST));
+    }
+
+    @Test
+    void hasMinRating_ShouldMatchTheRoundedRateAndSkipUnratedBooks() {
+        // Snow Crash 4.45 is displayed as 4.5, Dune 4.5, Children of Dune 4.4, Anathem has no rating
+        assertEquals(List.of("Snow Crash", "Dune"),
+                titles(displayable(new BookFilter(null, null, null, 4.5, null, null)), BookSort.NEWEST));
+        assertEquals(List.of("Snow Crash", "Children of Dune", "Dune"),
+                titles(displayable(new BookFilter(null, null, null, 0.0, null, null)), BookSort.NEWEST));
+    }
+
+    @Test
+    void createdRange_ShouldIncludeBothDays() {
+        LocalDate from = DAY.toLocalDate().plusDays(1);
+        LocalDate to = DAY.toLocalDate().plusDays(2);
+
+        assertEquals(List.of("Anathem", "Children of Dune"),
+                titles(displayable(new BookFilter(null, null, null, null, from, to)), BookSort.NEWEST));
+    }
+
+    @Test
+    void sorts_ShouldOrderByTheirKeys() {
+        Specification<Book> all = displayable(BookFilter.NONE);
+
+        assertEquals(List.of("Dune", "Children of Dune", "Anathem", "Snow Crash"), titles(all, BookSort.OLDEST));
+        assertEquals(List.of("Anathem", "Children of Dune", "Dune", "Snow Crash"), titles(all, BookSort.TITLE));
+    }
+
+    @Test
+    void findListingPage_ShouldCountMatchingBooks() {
+        Page<BookListing> page = bookRepository.findListingPage(
+                displayable(new BookFilter(null, null, true, null, null, null)),
+                PageRequest.of(0, 2, BookSort.TITLE.sort()));
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of("Anathem", "Dune"), page.map(BookListing::title).getContent());
+        assertEquals("Jane", page.getContent().get(1).ownerFirstName());
+    }
+
+    @Test
+    void findListings_ShouldTellWhetherMoreBooksFollow() {
+        Slice<BookListing> first = bookRepository.findListings(
+                displayable(BookFilter.NONE), PageRequest.of(0, 3, BookSort.NEWEST.sort()));
+        Slice<BookListing> second = bookRepository.findListings(
+                displayable(BookFilter.NONE), PageRequest.of(1, 3, BookSort.NEWEST.sort()));
+
+        assertTrue(first.hasNext());
+        assertEquals(3, first.getNumberOfElements());
+        assertFalse(second.hasNext());
+        assertEquals(List.of("Dune"), second.map(BookListing::title).getContent());
+    }
+
+    @Test
+    void after_ShouldContinueBehindTheCursor() {
+        BookListing last = bookRepository.findListings(
+                displayable(BookFilter.NONE), PageRequest.of(0, 2, BookSort.NEWEST.sort())).getContent().get(1);
+
+        Specification<Book> rest = displayable(BookFilter.NONE)
+                .and(BookSpecification.after(new PageCursor(last.createdDate(), last.id())));
+
+        assertEquals(List.of("Children of Dune", "Dune"), titles(rest, BookSort.NEWEST));
+    }
+
+    @Test
+    void withOwnerId_ShouldMatchTheOwner() {
+        Page<BookListing> page = bookRepository.findListingPage(
+                BookSpecification.withOwnerId(otherOwner.getId()), PageRequest.of(0, 10, BookSort.NEWEST.sort()));
+
+        assertEquals(List.of("Snow Crash", "Anathem"), page.map(BookListing::title).getContent());
+    }
+
+    @Test
+    void findListings_ShouldOnlyLoadTheRequestedFields() {
+        BookListing listing = bookRepository.findListings(
+                displayable(BookFilter.NONE),
+                PageRequest.of(0, 1, BookSort.TITLE.sort()),
+                BookField.parse("title,rate")).getContent().get(0);
+
+        assertEquals("Anathem", listing.title());
+        assertNotNull(listing.id());
+        assertNotNull(listing.createdDate());
+        assertNull(listing.authorName());
+        assertNull(listing.synopsis());
+        // Without the owner field the owner is not joined
+        assertNull(listing.ownerFirstName());
+    }
+
+    @Test
+    void findListings_ShouldJoinTheOwnerWhenRequested() {
+        BookListing listing = bookRepository.findListings(
+                displayable(BookFilter.NONE),
+                PageRequest.of(0, 1, BookSort.TITLE.sort()),
+                BookField.parse("owner,rate")).getContent().get(0);
+
+        assertEquals("John", listing.ownerFirstName());
+        assertNull(listing.title());
+    }
+
+    @Test
+    void fromParam_ShouldRejectUnknownSorts() {
+        assertEquals(BookSort.TITLE, BookSort.fromParam("Title"));
+        assertNull(BookSort.fromParam("rating"));
+    }
+
+    private static Specification<Book> displayable(BookFilter filter) {
+        return BookSpecification.isDisplayable().and(BookSpecification.matching(filter));
+    }
+
+    private List<String> titles(Specification<Book> specification, BookSort sort) {
+        return bookRepository.findListings(specification, PageRequest.of(0, 10, sort.sort()))
+                .map(BookListing::title)
+                .getContent();
+    }
+
+    private User persistUser(String email) {
+        return entityManager.persist(User.builder()
+                .firstName(email.startsWith("jane") ? "Jane" : "John")
+                .lastName("Doe")
+                .email(email)
+                .password("password")
+                .enabled(true)
+                .roles(List.of())
+                .build());
+    }
+
+    private Book persistBook(String title, String authorName, String isbn, boolean shareable,
+                             double ratingSum, int ratingCount, User bookOwner, int days) {
+        Book book = entityManager.persist(Book.builder()
+                .title(title)
+                .authorName(authorName)
+                .isbn(isbn)
+                .synopsis("Synopsis")
+                .shareable(shareable)
+                .ratingSum(ratingSum)
+                .ratingCount(ratingCount)
+                .owner(bookOwner)
+                .build());
+        entityManager.flush();
+        // createdDate is set by auditing, move it to a known day
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Book book SET book.createdDate = :createdDate WHERE book.id = :id")
+                .setParameter("createdDate", DAY.plusDays(days))
+                .setParameter("id", book.getId())
+                .executeUpdate();
+        return book;
+    }
+}
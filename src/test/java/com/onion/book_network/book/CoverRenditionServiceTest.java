@@ -0,0 +1,163 @@
+package com.onion.book_network.book;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.onion.book_network.file.BlobCache;
+import com.onion.book_network.file.BlobLocks;
+import com.onion.book_network.file.ContentAddressedFileStorageService;
+import com.onion.book_network.file.FileSystemBlobStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CoverRenditionServiceTest {
+
+    private static final String COVER_KEY = "ab/cd/abcdef.png";
+
+    @TempDir
+    private Path root;
+
+    private final BlobLocks blobLocks = mock(BlobLocks.class);
+    private final BookRepository bookRepository = mock(BookRepository.class);
+
+    private CoverRenditionService coverRenditionService;
+
+    @BeforeEach
+    void setUp() {
+        FileSystemBlobStore blobStore = new FileSystemBlobStore(root);
+        BlobCache blobCache = new BlobCache(DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), new SimpleMeterRegistry());
+        coverRenditionService = new CoverRenditionService(blobStore,
+                new ContentAddressedFileStorageService(blobStore, blobCache, blobLocks), blobLocks, bookRepository);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(blobLocks).runLocked(eq(COVER_KEY), any());
+        when(bookRepository.countByBookCover(COVER_KEY)).thenReturn(1L);
+    }
+
+    @Test
+    void generateRenditions_ShouldStoreScaledJpegNextToCover() throws IOException {
+        writeCover(new BufferedImage(1600, 2400, BufferedImage.TYPE_INT_ARGB));
+
+        coverRenditionService.generateRenditions(COVER_KEY);
+
+        BufferedImage small = ImageIO.read(root.resolve("ab/cd/abcdef-w320.jpg").toFile());
+        assertEquals(320, small.getWidth());
+        assertEquals(480, small.getHeight());
+        BufferedImage medium = ImageIO.read(root.resolve("ab/cd/abcdef-w800.jpg").toFile());
+        assertEquals(800, medium.getWidth());
+    }
+
+    @Test
+    void generateRenditions_ShouldNotUpscaleSmallCovers() throws IOException {
+        writeCover(new BufferedImage(200, 300, BufferedImage.TYPE_INT_RGB));
+
+        coverRenditionService.generateRenditions(COVER_KEY);
+
+        assertEquals(200, ImageIO.read(root.resolve("ab/cd/abcdef-w320.jpg").toFile()).getWidth());
+    }
+
+    @Test
+    void generateRenditions_ShouldSkipFilesThatAreNotImages() throws IOException {
+        Files.createDirectories(root.resolve("ab/cd"));
+        Files.writeString(root.resolve(COVER_KEY), "not an image");
+
+        coverRenditionService.generateRenditions(COVER_KEY);
+
+        assertFalse(Files.exists(root.resolve("ab/cd/abcdef-w320.jpg")));
+    }
+
+    @Test
+    void generateRenditions_ShouldRejectCoversDeclaringTooManyPixels() throws IOException {
+        // A PNG header claiming 20000x20000 pixels, decoding it would need 1.6 GB
+        Files.createDirectories(root.resolve("ab/cd"));
+        Files.write(root.resolve(COVER_KEY), pngHeader(20_000, 20_000));
+
+        coverRenditionService.generateRenditions(COVER_KEY);
+
+        assertFalse(Files.exists(root.resolve("ab/cd/abcdef-w320.jpg")));
+    }
+
+    @Test
+    void generateRenditions_ShouldStoreUnderCoverLock() throws IOException {
+        writeCover(new BufferedImage(400, 600, BufferedImage.TYPE_INT_RGB));
+
+        coverRenditionService.generateRenditions(COVER_KEY);
+
+        verify(blobLocks, times(CoverRendition.values().length)).runLocked(eq(COVER_KEY), any());
+    }
+
+    @Test
+    void generateRenditions_ShouldSkipReleasedCovers() throws IOException {
+        // Replaced and released after the upload committed, the release has already deleted the renditions
+        writeCover(new BufferedImage(400, 600, BufferedImage.TYPE_INT_RGB));
+        when(bookRepository.countByBookCover(COVER_KEY)).thenReturn(0L);
+
+        coverRenditionService.generateRenditions(COVER_KEY);
+
+        assertFalse(Files.exists(root.resolve("ab/cd/abcdef-w320.jpg")));
+        assertFalse(Files.exists(root.resolve("ab/cd/abcdef-w800.jpg")));
+    }
+
+    @Test
+    void deleteRenditions_ShouldKeepOriginal() throws IOException {
+        writeCover(new BufferedImage(400, 600, BufferedImage.TYPE_INT_RGB));
+        coverRenditionService.generateRenditions(COVER_KEY);
+
+        coverRenditionService.deleteRenditions(COVER_KEY);
+
+        assertTrue(Files.exists(root.resolve(COVER_KEY)));
+        assertFalse(Files.exists(root.resolve("ab/cd/abcdef-w320.jpg")));
+        assertFalse(Files.exists(root.resolve("ab/cd/abcdef-w800.jpg")));
+    }
+
+    @Test
+    void keyFor_ShouldReplaceExtension() {
+        assertEquals("ab/cd/abcdef-w320.jpg", CoverRendition.SMALL.keyFor("ab/cd/abcdef.png"));
+        assertEquals("ab/cd/abcdef-w320.jpg", CoverRendition.SMALL.keyFor("ab/cd/abcdef"));
+        assertEquals("./uploads/ab/cd/abcdef-w800.jpg", CoverRendition.MEDIUM.keyFor("./uploads/ab/cd/abcdef.jpg"));
+    }
+
+    private void writeCover(BufferedImage image) throws IOException {
+        Files.createDirectories(root.resolve("ab/cd"));
+        ImageIO.write(image, "png", root.resolve(COVER_KEY).toFile());
+    }
+
+    // PNG signature and IHDR chunk only, enough for an image reader to report the dimensions
+    private static byte[] pngHeader(int width, int height) {
+        ByteBuffer ihdr = ByteBuffer.allocate(17)
+                .put("IHDR".getBytes(StandardCharsets.US_ASCII))
+                .putInt(width)
+                .putInt(height)
+                .put(new byte[] {8, 6, 0, 0, 0});
+        CRC32 crc = new CRC32();
+        crc.update(ihdr.array());
+        return ByteBuffer.allocate(8 + 4 + 17 + 4)
+                .put(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'})
+                .putInt(13)
+                .put(ihdr.array())
+                .putInt((int) crc.getValue())
+                .array();
+    }
+}
@@ -0,0 +1,31 @@
+package com.onion.book_network.common;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.onion.book_network.exception.InvalidCursorException;
+
+class PageCursorTest {
+
+    @Test
+    void decode_ShouldReturnEncodedCursor() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 5, 17, 10, 15, 30, 123456000), 42);
+
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_BlankCursor_ShouldReturnNull() {
+        assertNull(PageCursor.decode(""));
+        assertNull(PageCursor.decode(null));
+    }
+
+    @Test
+    void decode_MalformedCursor_ShouldThrow() {
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decode("not-a-cursor"));
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decode("%%%"));
+    }
+}
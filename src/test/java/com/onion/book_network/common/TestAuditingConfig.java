@@ -0,0 +1,22 @@
+package com.onion.book_network.common;
+
+import java.util.Optional;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.AuditorAware;
+
+/**
+ * Provides the auditor expected by {@code @EnableJpaAuditing} in JPA slice tests,
+ * where the security based {@code ApplicationAuditAware} is not loaded.
+ */
+@TestConfiguration
+public class TestAuditingConfig {
+
+    public static final Integer AUDITOR_ID = 1;
+
+    @Bean
+    public AuditorAware<Integer> auditorAware() {
+        return () -> Optional.of(AUDITOR_ID);
+    }
+}
@@ -0,0 +1,78 @@
+package com.onion.book_network.feedback;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.onion.book_network.common.PageResponse;
+import com.onion.book_network.common.ResourceVersion;
+
+class FeedbackControllerTest {
+
+    private static final LocalDateTime MODIFIED = LocalDateTime.of(2024, 3, 10, 12, 0);
+    private static final ResourceVersion VERSION = ResourceVersion.of(MODIFIED, "feedbacks", 1, 2, 7);
+
+    private final FeedbackService feedbackService = mock(FeedbackService.class);
+    private final UsernamePasswordAuthenticationToken reader =
+            new UsernamePasswordAuthenticationToken("reader", null, List.of());
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new FeedbackController(feedbackService)).build();
+        when(feedbackService.findFeedbacksVersion(eq(1), any())).thenReturn(Optional.of(VERSION));
+        when(feedbackService.findAllFeedbacksByBook(eq(1), anyInt(), anyInt(), any(), anyBoolean(), any()))
+                .thenReturn(PageResponse.<FeedbackResponse>builder()
+                        .content(List.of(FeedbackResponse.builder().note(4.0).comment("Great").build()))
+                        .build());
+    }
+
+    @Test
+    void findAllFeedbacksByBook_ShouldAnswerUnchangedPageWithNotModified() throws Exception {
+        mockMvc.perform(get("/feedbacks/book/1").principal(reader).header(HttpHeaders.IF_NONE_MATCH, VERSION.eTag()))
+                .andExpect(status().isNotModified());
+
+        verify(feedbackService, never()).findAllFeedbacksByBook(eq(1), anyInt(), anyInt(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    void findAllFeedbacksByBook_ShouldHonorIfModifiedSince() throws Exception {
+        String lastModified = DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                ZonedDateTime.of(MODIFIED, ZoneId.systemDefault()).withZoneSameInstant(ZoneId.of("GMT")));
+
+        mockMvc.perform(get("/feedbacks/book/1").principal(reader).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void findAllFeedbacksByBook_ShouldSendChangedPage() throws Exception {
+        mockMvc.perform(get("/feedbacks/book/1").principal(reader).header(HttpHeaders.IF_NONE_MATCH, "W/\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, VERSION.eTag()))
+                .andExpect(jsonPath("$.content[0].comment").value("Great"));
+    }
+}
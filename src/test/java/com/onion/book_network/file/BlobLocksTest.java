@@ -0,0 +1,81 @@
+package com.onion.book_network.file;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.onion.book_network.common.TestAuditingConfig;
+
+/**
+ * An upload reusing a stored file and the deletion of that file, each in its own transaction, never overlap.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TestAuditingConfig.class, BlobLocks.class})
+@ActiveProfiles("test")
+class BlobLocksTest {
+
+    private static final String KEY = "ab/cd/abcdef.jpg";
+
+    @Autowired
+    private BlobLocks blobLocks;
+
+    @Autowired
+    private BlobLockRepository blobLockRepository;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        blobLockRepository.deleteAll();
+    }
+
+    @Test
+    void lock_ShouldRequireTransaction() {
+        assertThrows(IllegalStateException.class, () -> blobLocks.lock(KEY));
+    }
+
+    @Test
+    void runLocked_ShouldWaitForHolderOfSameKey() throws Exception {
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> blobLocks.runLocked(KEY, () -> {
+            held.countDown();
+            await(release);
+        }), executor);
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch ran = new CountDownLatch(1);
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> blobLocks.runLocked(KEY, ran::countDown));
+
+        assertFalse(ran.await(300, TimeUnit.MILLISECONDS));
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        waiter.get(5, TimeUnit.SECONDS);
+        assertEquals(0, ran.getCount());
+        assertEquals(1, blobLockRepository.count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
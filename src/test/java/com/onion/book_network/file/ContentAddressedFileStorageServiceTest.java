@@ -0,0 +1,261 @@
+package com.onion.book_network.file;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ContentAddressedFileStorageServiceTest {
+
+    @TempDir
+    private Path uploadDir;
+
+    private final BlobLocks blobLocks = mock(BlobLocks.class);
+    private ContentAddressedFileStorageService fileStorageService;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = newService(new FileSystemBlobStore(uploadDir), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void saveFile_ShouldStreamContentIntoShardedHashKey() throws Exception {
+        // Larger than one transfer chunk so the copy loop runs more than once
+        byte[] content = randomBytes(3 * 1024 * 1024 + 17, 42);
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+        StoredFile storedFile = fileStorageService.saveFile(new MockMultipartFile("file", "cover.JPG", "image/jpeg", content));
+
+        assertNotNull(storedFile);
+        assertEquals(hash, storedFile.hash());
+        assertEquals(hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash, storedFile.key());
+        verify(blobLocks).lock(storedFile.key());
+        assertArrayEquals(content, Files.readAllBytes(uploadDir.resolve(storedFile.key())));
+        assertNoTemporaryFiles();
+    }
+
+    @Test
+    void saveFile_ShouldStoreIdenticalContentOnce() throws IOException {
+        byte[] content = randomBytes(1024, 7);
+
+        StoredFile first = fileStorageService.saveFile(new MockMultipartFile("file", "a.png", "image/png", content));
+        StoredFile second = fileStorageService.saveFile(new MockMultipartFile("file", "b.png", "image/png", content));
+
+        assertEquals(first, second);
+        try (Stream<Path> files = Files.walk(uploadDir)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void saveFile_ShouldIgnoreClientFileName() {
+        StoredFile storedFile = fileStorageService.saveFile(
+                new MockMultipartFile("file", "cover.jpg/../../etc", "image/jpeg", randomBytes(16, 3)));
+
+        assertNotNull(storedFile);
+        assertEquals(storedFile.hash(), Path.of(storedFile.key()).getFileName().toString());
+    }
+
+    @Test
+    void saveFile_ShouldKeyOnDetectedContentType() throws IOException {
+        byte[] content = Arrays.copyOf(new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0}, 64);
+
+        StoredFile jpg = fileStorageService.saveFile(new MockMultipartFile("file", "a.jpg", "image/jpeg", content));
+        StoredFile jpeg = fileStorageService.saveFile(new MockMultipartFile("file", "b.JPEG", "image/pjpeg", content));
+
+        assertEquals(jpg, jpeg);
+        assertTrue(jpg.key().endsWith(jpg.hash() + ".jpg"));
+        try (Stream<Path> files = Files.walk(uploadDir)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void saveFile_ShouldLockKeyOnlyAfterStoringContent() throws IOException {
+        BlobStore blobStore = mock(BlobStore.class);
+        when(blobStore.stat(anyString())).thenReturn(Optional.empty(), Optional.of(new BlobMetadata(16, 0)));
+        ContentAddressedFileStorageService service = newService(blobStore, new SimpleMeterRegistry());
+
+        StoredFile storedFile = service.saveFile(new MockMultipartFile("file", "cover.jpg", "image/jpeg", randomBytes(16, 15)));
+
+        InOrder inOrder = inOrder(blobStore, blobLocks);
+        inOrder.verify(blobStore).put(eq(storedFile.key()), any(), anyString());
+        inOrder.verify(blobLocks).lock(storedFile.key());
+        inOrder.verify(blobStore).stat(storedFile.key());
+        verify(blobStore, times(1)).put(anyString(), any(), anyString());
+    }
+
+    @Test
+    void saveFile_ShouldStoreAgain_WhenReleasedBeforeLock() throws IOException {
+        byte[] content = randomBytes(16, 17);
+        // A release of the same content deletes the blob between the put and the lock
+        doAnswer(invocation -> {
+            fileStorageService.delete(invocation.getArgument(0));
+            return null;
+        }).when(blobLocks).lock(anyString());
+
+        StoredFile storedFile = fileStorageService.saveFile(new MockMultipartFile("file", "cover.jpg", "image/jpeg", content));
+
+        assertArrayEquals(content, Files.readAllBytes(uploadDir.resolve(storedFile.key())));
+        assertNoTemporaryFiles();
+    }
+
+    @Test
+    void saveFile_ShouldRemoveTemporaryFile_WhenUploadFails() throws IOException {
+        MockMultipartFile failingFile = new MockMultipartFile("file", "cover.jpg", "image/jpeg", new byte[0]) {
+            @Override
+            public InputStream getInputStream() {
+                return new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("connection reset");
+                    }
+                };
+            }
+        };
+
+        assertNull(fileStorageService.saveFile(failingFile));
+        assertNoTemporaryFiles();
+    }
+
+    @Test
+    void delete_ShouldRemoveStoredFile() {
+        StoredFile storedFile = fileStorageService.saveFile(
+                new MockMultipartFile("file", "cover.jpg", "image/jpeg", randomBytes(16, 5)));
+
+        fileStorageService.delete(storedFile.key());
+
+        assertFalse(Files.exists(uploadDir.resolve(storedFile.key())));
+    }
+
+    @Test
+    void saveFile_ShouldSkipUpload_WhenStoreAlreadyHasContent() throws IOException {
+        BlobStore blobStore = mock(BlobStore.class);
+        when(blobStore.stat(anyString())).thenReturn(Optional.of(new BlobMetadata(16, 0)));
+        ContentAddressedFileStorageService service = newService(blobStore, new SimpleMeterRegistry());
+
+        StoredFile storedFile = service.saveFile(new MockMultipartFile("file", "cover.jpg", "image/jpeg", randomBytes(16, 9)));
+
+        assertNotNull(storedFile);
+        verify(blobStore, never()).put(anyString(), any(), anyString());
+        assertNoTemporaryFiles();
+    }
+
+    @Test
+    void transferTo_ShouldServeSmallFileFromCache_AfterFirstRead() throws IOException {
+        BlobStore blobStore = mock(BlobStore.class);
+        when(blobStore.stat("ab/cd/abcd.jpg")).thenReturn(Optional.of(new BlobMetadata(10, 0)));
+        when(blobStore.open("ab/cd/abcd.jpg", 0, 10))
+                .thenReturn(new ByteArrayInputStream("0123456789".getBytes(StandardCharsets.US_ASCII)));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ContentAddressedFileStorageService service = newService(blobStore, meterRegistry);
+
+        assertEquals("0123456789", readString(service, "ab/cd/abcd.jpg", 0, 10));
+        assertEquals("345", readString(service, "ab/cd/abcd.jpg", 3, 3));
+
+        verify(blobStore, times(1)).open(anyString(), anyLong(), anyLong());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", BlobCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", BlobCache.CACHE_NAME).tag("result", "miss")
+                .functionCounter().count());
+        assertEquals(Optional.empty(), service.localPath("ab/cd/abcd.jpg", new BlobMetadata(10, 0)));
+    }
+
+    @Test
+    void transferTo_ShouldStreamLargeFileFromStore() throws IOException {
+        BlobStore blobStore = mock(BlobStore.class);
+        BlobMetadata metadata = new BlobMetadata(2 * 1024 * 1024, 0);
+        when(blobStore.stat("ab/cd/abcd.jpg")).thenReturn(Optional.of(metadata));
+        when(blobStore.open("ab/cd/abcd.jpg", 100, 50)).thenAnswer(invocation -> InputStream.nullInputStream());
+        when(blobStore.localPath("ab/cd/abcd.jpg")).thenReturn(Optional.of(uploadDir.resolve("ab/cd/abcd.jpg")));
+        ContentAddressedFileStorageService service = newService(blobStore, new SimpleMeterRegistry());
+
+        service.transferTo("ab/cd/abcd.jpg", 100, 50, OutputStream.nullOutputStream());
+        service.transferTo("ab/cd/abcd.jpg", 100, 50, OutputStream.nullOutputStream());
+
+        verify(blobStore, times(2)).open("ab/cd/abcd.jpg", 100, 50);
+        assertTrue(service.localPath("ab/cd/abcd.jpg", metadata).isPresent());
+    }
+
+    @Test
+    void transferTo_ShouldServeRangeOfMappedLocalFile() throws IOException {
+        byte[] content = randomBytes(4096, 13);
+        StoredFile storedFile = fileStorageService.saveFile(new MockMultipartFile("file", "cover.jpg", "image/jpeg", content));
+
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            fileStorageService.transferTo(storedFile.key(), 1000, 96, out);
+            assertArrayEquals(Arrays.copyOfRange(content, 1000, 1096), out.toByteArray());
+        }
+    }
+
+    @Test
+    void delete_ShouldDropFileFromCache() throws IOException {
+        StoredFile storedFile = fileStorageService.saveFile(
+                new MockMultipartFile("file", "cover.jpg", "image/jpeg", randomBytes(16, 11)));
+        fileStorageService.transferTo(storedFile.key(), 0, 16, OutputStream.nullOutputStream());
+
+        fileStorageService.delete(storedFile.key());
+
+        assertTrue(fileStorageService.stat(storedFile.key()).isEmpty());
+    }
+
+    private ContentAddressedFileStorageService newService(BlobStore blobStore, MeterRegistry meterRegistry) {
+        BlobCache blobCache = new BlobCache(DataSize.ofMegabytes(64), DataSize.ofMegabytes(1), meterRegistry);
+        ContentAddressedFileStorageService service = new ContentAddressedFileStorageService(blobStore, blobCache, blobLocks);
+        ReflectionTestUtils.setField(service, "fileUploadPath", uploadDir.toString());
+        return service;
+    }
+
+    private static String readString(FileStorageService service, String key, long offset, long length) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.transferTo(key, offset, length, out);
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    private void assertNoTemporaryFiles() throws IOException {
+        try (Stream<Path> files = Files.list(uploadDir.resolve("tmp"))) {
+            assertEquals(0, files.count(), "no temporary file should be left behind");
+        }
+    }
+
+    private static byte[] randomBytes(int size, long seed) {
+        byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+        return content;
+    }
+}
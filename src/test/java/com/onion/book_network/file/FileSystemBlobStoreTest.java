@@ -0,0 +1,72 @@
+package com.onion.book_network.file;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSystemBlobStoreTest {
+
+    @TempDir
+    private Path root;
+
+    @TempDir
+    private Path scratch;
+
+    private FileSystemBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new FileSystemBlobStore(root);
+    }
+
+    @Test
+    void put_ShouldMoveSourceUnderKey() throws IOException {
+        Path source = write("0123456789");
+
+        blobStore.put("ab/cd/abcd.jpg", source, "image/jpeg");
+
+        assertFalse(Files.exists(source));
+        assertEquals("0123456789", Files.readString(root.resolve("ab/cd/abcd.jpg")));
+        assertEquals(10, blobStore.stat("ab/cd/abcd.jpg").orElseThrow().size());
+    }
+
+    @Test
+    void open_ShouldReadRequestedRange() throws IOException {
+        blobStore.put("ab/cd/abcd.jpg", write("0123456789"), "image/jpeg");
+
+        try (InputStream in = blobStore.open("ab/cd/abcd.jpg", 3, 4)) {
+            assertEquals("3456", new String(in.readAllBytes(), StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    void stat_ShouldBeEmpty_ForMissingKey() throws IOException {
+        assertTrue(blobStore.stat("ab/cd/missing.jpg").isEmpty());
+    }
+
+    @Test
+    void resolve_ShouldAcceptLegacyFullPaths() throws IOException {
+        blobStore.put("ab/cd/abcd.jpg", write("legacy"), "image/jpeg");
+        String legacyPath = root.resolve("ab/cd/abcd.jpg").toString();
+
+        assertEquals(6, blobStore.stat(legacyPath).orElseThrow().size());
+    }
+
+    @Test
+    void resolve_ShouldRejectKeysOutsideRoot() {
+        assertThrows(IllegalArgumentException.class, () -> blobStore.stat("../outside.jpg"));
+        assertThrows(IllegalArgumentException.class, () -> blobStore.delete(scratch.resolve("x.jpg").toString()));
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(Files.createTempFile(scratch, "blob-", ".tmp"), content);
+    }
+}
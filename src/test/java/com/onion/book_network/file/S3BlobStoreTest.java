@@ -0,0 +1,163 @@
+package com.onion.book_network.file;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+
+@SuppressWarnings("unchecked")
+class S3BlobStoreTest {
+
+    private static final String BUCKET = "covers";
+    private static final long PART_SIZE = S3BlobStore.MIN_PART_SIZE;
+
+    @TempDir
+    private Path scratch;
+
+    private S3Client s3Client;
+    private S3BlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        s3Client = mock(S3Client.class);
+        blobStore = new S3BlobStore(s3Client, BUCKET, PART_SIZE);
+    }
+
+    @Test
+    void put_ShouldUseSingleRequest_ForSmallFile() throws IOException {
+        blobStore.put("ab/cd/abcd.jpg", write(1024), "image/jpeg");
+
+        verify(s3Client).putObject(any(Consumer.class), any(RequestBody.class));
+        verify(s3Client, never()).createMultipartUpload(any(Consumer.class));
+    }
+
+    @Test
+    void put_ShouldUploadPartsAndComplete_ForLargeFile() throws IOException {
+        byte[] content = randomBytes((int) (2 * PART_SIZE + 100));
+        when(s3Client.createMultipartUpload(any(Consumer.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        List<Long> partLengths = new ArrayList<>();
+        List<byte[]> partContents = new ArrayList<>();
+        when(s3Client.uploadPart(any(Consumer.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = build(invocation.getArgument(0), UploadPartRequest.builder());
+            assertEquals("upload-1", request.uploadId());
+            assertEquals(partLengths.size() + 1, request.partNumber());
+            RequestBody body = invocation.getArgument(1);
+            try (InputStream in = body.contentStreamProvider().newStream()) {
+                partContents.add(in.readAllBytes());
+            }
+            partLengths.add(request.contentLength());
+            return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+        });
+
+        blobStore.put("ab/cd/abcd.jpg", Files.write(scratch.resolve("large.tmp"), content), "image/jpeg");
+
+        assertEquals(List.of(PART_SIZE, PART_SIZE, 100L), partLengths);
+        byte[] uploaded = new byte[content.length];
+        int position = 0;
+        for (byte[] part : partContents) {
+            System.arraycopy(part, 0, uploaded, position, part.length);
+            position += part.length;
+        }
+        assertArrayEquals(content, uploaded);
+
+        ArgumentCaptor<Consumer<CompleteMultipartUploadRequest.Builder>> complete = ArgumentCaptor.forClass(Consumer.class);
+        verify(s3Client).completeMultipartUpload(complete.capture());
+        CompleteMultipartUploadRequest request = build(complete.getValue(), CompleteMultipartUploadRequest.builder());
+        assertEquals(3, request.multipartUpload().parts().size());
+        assertEquals("etag-3", request.multipartUpload().parts().get(2).eTag());
+        verify(s3Client, never()).putObject(any(Consumer.class), any(RequestBody.class));
+    }
+
+    @Test
+    void put_ShouldAbortMultipartUpload_WhenPartFails() throws IOException {
+        when(s3Client.createMultipartUpload(any(Consumer.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(Consumer.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().statusCode(500).message("internal error").build());
+
+        Path source = write((int) PART_SIZE + 1);
+        assertThrows(IOException.class, () -> blobStore.put("ab/cd/abcd.jpg", source, "image/jpeg"));
+
+        verify(s3Client, times(1)).abortMultipartUpload(any(Consumer.class));
+        verify(s3Client, never()).completeMultipartUpload(any(Consumer.class));
+    }
+
+    @Test
+    void open_ShouldRequestInclusiveByteRange() throws IOException {
+        blobStore.open("ab/cd/abcd.jpg", 100, 50);
+
+        ArgumentCaptor<Consumer<GetObjectRequest.Builder>> get = ArgumentCaptor.forClass(Consumer.class);
+        verify(s3Client).getObject(get.capture());
+        GetObjectRequest request = build(get.getValue(), GetObjectRequest.builder());
+        assertEquals(BUCKET, request.bucket());
+        assertEquals("bytes=100-149", request.range());
+    }
+
+    @Test
+    void stat_ShouldMapHeadResponse() throws IOException {
+        Instant lastModified = Instant.parse("2024-01-01T00:00:00Z");
+        when(s3Client.headObject(any(Consumer.class)))
+                .thenReturn(HeadObjectResponse.builder().contentLength(1234L).lastModified(lastModified).build());
+
+        assertEquals(new BlobMetadata(1234, lastModified.toEpochMilli()), blobStore.stat("ab/cd/abcd.jpg").orElseThrow());
+    }
+
+    @Test
+    void stat_ShouldBeEmpty_WhenObjectIsMissing() throws IOException {
+        when(s3Client.headObject(any(Consumer.class)))
+                .thenThrow(S3Exception.builder().statusCode(404).build());
+
+        assertTrue(blobStore.stat("ab/cd/missing.jpg").isEmpty());
+    }
+
+    @Test
+    void constructor_ShouldRejectPartSizeBelowS3Minimum() {
+        assertThrows(IllegalArgumentException.class, () -> new S3BlobStore(s3Client, BUCKET, 1024));
+    }
+
+    // The client is called with request customizers, apply them to a fresh builder to inspect the request
+    private static <B extends SdkBuilder<B, R>, R> R build(Consumer<B> customizer, B builder) {
+        customizer.accept(builder);
+        return builder.build();
+    }
+
+    private Path write(int size) throws IOException {
+        return Files.write(Files.createTempFile(scratch, "blob-", ".tmp"), randomBytes(size));
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+}
@@ -0,0 +1,142 @@
+package com.onion.book_network.history;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.onion.book_network.common.TestAuditingConfig;
+
+/**
+ * Runs EXPLAIN on the SQL issued by each {@link BookTransactionHistoryRepository} query and fails when
+ * a table is read with a full scan. H2 also indexes foreign key columns on its own, so the declared
+ * composite indexes are checked against the schema separately.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.onion.book_network.history.BookTransactionHistoryQueryPlanTest$SqlRecorder")
+@Import(TestAuditingConfig.class)
+@ActiveProfiles("test")
+class BookTransactionHistoryQueryPlanTest {
+
+    private static final String TABLE_SCAN = ".tableScan";
+
+    @Autowired
+    private BookTransactionHistoryRepository repository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        SqlRecorder.STATEMENTS.clear();
+    }
+
+    @Test
+    void borrowedBooks_ShouldNotScanTables() throws SQLException {
+        assertNoTableScan(explain(() -> repository.findAllBorrowedBooks(PageRequest.of(0, 10), 1)));
+        assertNoTableScan(explain(() -> repository.findBorrowedBooks(1, PageRequest.of(0, 10))));
+        assertNoTableScan(explain(() -> repository.findBorrowedBooksAfter(1, LocalDateTime.now(), 1, PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void returnedBooks_ShouldNotScanTables() throws SQLException {
+        assertNoTableScan(explain(() -> repository.findAllReturnedBooks(PageRequest.of(0, 10), 1)));
+        assertNoTableScan(explain(() -> repository.findReturnedBooks(1, PageRequest.of(0, 10))));
+        assertNoTableScan(explain(() -> repository.findReturnedBooksAfter(1, LocalDateTime.now(), 1, PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void loanStatusAndTransitions_ShouldNotScanTables() throws SQLException {
+        List<String> plans = explain(() -> repository.findLoanStatus(1, 2));
+        assertNoTableScan(plans);
+        assertTrue(plans.get(0).contains("IDX_BOOK_TRANSACTION_HISTORY_BOOK_OPEN"), plans.get(0));
+        assertNoTableScan(explain(() -> repository.markReturned(1, 2, LocalDateTime.now())));
+        assertNoTableScan(explain(() -> repository.markReturnApproved(1, 2, LocalDateTime.now())));
+    }
+
+    @Test
+    void schema_ShouldDeclareCompositeIndexes() throws SQLException {
+        assertEquals(List.of("USER_ID", "CREATED_DATE", "ID"), indexColumns("IDX_BOOK_TRANSACTION_HISTORY_USER_CREATED"));
+        assertEquals(List.of("BOOK_ID", "RETURN_APPROVED", "RETURNED"), indexColumns("IDX_BOOK_TRANSACTION_HISTORY_BOOK_OPEN"));
+        assertEquals(List.of("OWNER_ID", "CREATED_DATE", "ID"), indexColumns("IDX_BOOK_OWNER_CREATED"));
+    }
+
+    private static void assertNoTableScan(List<String> plans) {
+        assertFalse(plans.isEmpty(), "no statement was recorded");
+        for (String plan : plans) {
+            assertFalse(plan.contains(TABLE_SCAN), () -> "full table scan in plan:\n" + plan);
+        }
+    }
+
+    /**
+     * Runs the query, then explains every statement it issued with all parameters bound to null.
+     */
+    private List<String> explain(Runnable query) throws SQLException {
+        SqlRecorder.STATEMENTS.clear();
+        query.run();
+        List<String> plans = new ArrayList<>();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        for (String sql : SqlRecorder.STATEMENTS) {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameterCount = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameterCount; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plans.add(resultSet.getString(1));
+                    }
+                }
+            }
+        }
+        return plans;
+    }
+
+    private List<String> indexColumns(String indexName) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT COLUMN_NAME
+                FROM INFORMATION_SCHEMA.INDEX_COLUMNS
+                WHERE INDEX_NAME = ?
+                ORDER BY ORDINAL_POSITION
+                """)) {
+            statement.setString(1, indexName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    columns.add(resultSet.getString(1));
+                }
+            }
+        }
+        return columns;
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
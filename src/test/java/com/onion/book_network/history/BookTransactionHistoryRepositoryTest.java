@@ -0,0 +1,113 @@
+package com.onion.book_network.history;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.onion.book_network.book.Book;
+import com.onion.book_network.common.TestAuditingConfig;
+import com.onion.book_network.user.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(TestAuditingConfig.class)
+@ActiveProfiles("test")
+class BookTransactionHistoryRepositoryTest {
+
+    @Autowired
+    private BookTransactionHistoryRepository transactionHistoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User borrower;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(user("owner"));
+        borrower = entityManager.persist(user("borrower"));
+        book = entityManager.persist(Book.builder()
+                .title("Effective Java")
+                .authorName("Joshua Bloch")
+                .shareable(true)
+                .owner(owner)
+                .build());
+    }
+
+    @Test
+    void findLoanStatus_ShouldDescribeBookWithoutLoans_InOneStatement() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BookLoanStatus status = transactionHistoryRepository.findLoanStatus(book.getId(), borrower.getId()).orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(owner.getId(), status.ownerId());
+        assertTrue(status.isAvailableForSharing());
+        assertFalse(status.isBorrowed());
+        assertFalse(status.isBorrowedByUser());
+        assertNull(status.userLoanId());
+        assertNull(status.pendingReturnId());
+    }
+
+    @Test
+    void findLoanStatus_ShouldFollowLoanThroughReturnAndApproval() {
+        BookTransactionHistory loan = entityManager.persist(BookTransactionHistory.builder()
+                .user(borrower)
+                .book(book)
+                .build());
+        entityManager.flush();
+
+        BookLoanStatus borrowed = transactionHistoryRepository.findLoanStatus(book.getId(), borrower.getId()).orElseThrow();
+        assertEquals(loan.getId(), borrowed.userLoanId());
+        assertTrue(borrowed.isBorrowedByUser());
+        assertTrue(transactionHistoryRepository.findLoanStatus(book.getId(), owner.getId()).orElseThrow().isBorrowed());
+
+        assertEquals(1, transactionHistoryRepository.markReturned(loan.getId(), borrower.getId(), LocalDateTime.now()));
+        assertEquals(0, transactionHistoryRepository.markReturned(loan.getId(), borrower.getId(), LocalDateTime.now()));
+        BookLoanStatus returned = transactionHistoryRepository.findLoanStatus(book.getId(), owner.getId()).orElseThrow();
+        assertEquals(loan.getId(), returned.pendingReturnId());
+        assertTrue(returned.isBorrowed());
+
+        assertEquals(1, transactionHistoryRepository.markReturnApproved(loan.getId(), owner.getId(), LocalDateTime.now()));
+        BookLoanStatus approved = transactionHistoryRepository.findLoanStatus(book.getId(), borrower.getId()).orElseThrow();
+        assertFalse(approved.isBorrowed());
+        assertNull(approved.userLoanId());
+        assertNull(approved.pendingReturnId());
+    }
+
+    @Test
+    void findLoanStatus_ShouldBeEmpty_ForUnknownBook() {
+        assertTrue(transactionHistoryRepository.findLoanStatus(-1, borrower.getId()).isEmpty());
+    }
+
+    private static User user(String name) {
+        return User.builder()
+                .firstName(name)
+                .lastName("Doe")
+                .email(name + "@mail.com")
+                .password("password")
+                .enabled(true)
+                .roles(List.of())
+                .build();
+    }
+}
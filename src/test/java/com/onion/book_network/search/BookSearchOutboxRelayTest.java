@@ -0,0 +1,171 @@
+package com.onion.book_network.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.onion.book_network.book.Book;
+import com.onion.book_network.book.BookMapper;
+import com.onion.book_network.book.BookRepository;
+import com.onion.book_network.book.BookRequest;
+import com.onion.book_network.book.BookResponse;
+import com.onion.book_network.book.BookService;
+import com.onion.book_network.book.CoverRenditionService;
+import com.onion.book_network.common.PageResponse;
+import com.onion.book_network.common.TestAuditingConfig;
+import com.onion.book_network.file.BlobLocks;
+import com.onion.book_network.file.FileStorageService;
+import com.onion.book_network.user.User;
+import com.onion.book_network.user.UserRepository;
+
+/**
+ * Book changes made through {@link BookService} reach the in-memory index once the outbox is relayed.
+ */
+@DataJpaTest
+@Import({TestAuditingConfig.class, BookService.class, BookMapper.class, BookSearchConfig.class, BookSearchOutboxRelay.class,
+        BookSearchIndexBootstrap.class})
+@ActiveProfiles("test")
+class BookSearchOutboxRelayTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookSearchOutboxRelay relay;
+
+    @Autowired
+    private BookSearchIndexBootstrap bootstrap;
+
+    @Autowired
+    private BookSearchService bookSearchService;
+
+    @Autowired
+    private BookSearchOutboxRepository outboxRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private FileStorageService fileStorageService;
+
+    @MockBean
+    private BlobLocks blobLocks;
+
+    @MockBean
+    private CoverRenditionService coverRenditionService;
+
+    private Authentication owner;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane@mail.com")
+                .password("password")
+                .enabled(true)
+                .roles(List.of())
+                .build());
+        owner = new UsernamePasswordAuthenticationToken(user, null, List.of());
+    }
+
+    // The database rolls back after each test, the index is shared by all of them
+    @AfterEach
+    void tearDown() {
+        bookSearchService.delete(bookRepository.findAll().stream().map(Book::getId).toList());
+    }
+
+    @Test
+    void save_ShouldBecomeSearchable_OnceRelayed() {
+        Integer bookId = bookService.save(request("Effective Java", "Joshua Bloch"), owner).getId();
+        assertEquals(1, outboxRepository.count());
+        assertTrue(bookSearchService.search("java", PageRequest.of(0, 10)).isEmpty());
+
+        relay.poll();
+
+        assertEquals(0, outboxRepository.count());
+        PageResponse<BookResponse> result = bookService.searchBooks("bloch", 0, 10);
+        assertEquals(1, result.getContent().size());
+        assertEquals(bookId, result.getContent().get(0).getId());
+        assertEquals("Effective Java", result.getContent().get(0).getTitle());
+    }
+
+    @Test
+    void updateArchivedStatus_ShouldRemoveBookFromResults() {
+        Integer bookId = bookService.save(request("Effective Java", "Joshua Bloch"), owner).getId();
+        relay.poll();
+
+        bookService.updateArchivedStatus(bookId, owner);
+        relay.poll();
+
+        assertTrue(bookSearchService.search("java", PageRequest.of(0, 10)).isEmpty());
+        assertTrue(bookService.searchBooks("java", 0, 10).getContent().isEmpty());
+    }
+
+    @Test
+    void relay_ShouldDeleteDocument_WhenBookNoLongerExists() {
+        Integer bookId = bookService.save(request("Effective Java", "Joshua Bloch"), owner).getId();
+        relay.poll();
+
+        bookRepository.deleteById(bookId);
+        outboxRepository.save(BookSearchOutbox.builder().bookId(bookId).build());
+        relay.poll();
+
+        assertTrue(bookSearchService.search("java", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void relay_ShouldDrainOutbox_InBatches() {
+        for (int i = 0; i < 250; i++) {
+            bookService.save(request("Book " + i, "Author"), owner);
+        }
+
+        relay.poll();
+
+        assertEquals(0, outboxRepository.count());
+        assertEquals(250, bookSearchService.search("author", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void bootstrap_ShouldQueueEveryBook_WhenIndexStartsEmpty() {
+        bookRepository.save(Book.builder()
+                .title("Effective Java")
+                .authorName("Joshua Bloch")
+                .owner(userRepository.findAll().get(0))
+                .build());
+        assertEquals(0, outboxRepository.count());
+
+        bootstrap.run(null);
+        relay.poll();
+
+        assertEquals(1, bookSearchService.search("bloch", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void searchBooks_ShouldReturnEmptyPage_ForBlankQuery() {
+        PageResponse<BookResponse> result = bookService.searchBooks("  ", 0, 10);
+
+        assertTrue(result.getContent().isEmpty());
+        assertTrue(result.isLast());
+    }
+
+    private static BookRequest request(String title, String authorName) {
+        return new BookRequest(null, title, authorName, "978-0134685991", "A synopsis", true);
+    }
+}
@@ -0,0 +1,126 @@
+package com.onion.book_network.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.Query;
+
+import com.onion.book_network.book.Book;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.MultiMatchQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
+import co.elastic.clients.elasticsearch._types.query_dsl.TermQuery;
+
+@SuppressWarnings("unchecked")
+class ElasticsearchBookSearchServiceTest {
+
+    private ElasticsearchOperations operations;
+    private IndexOperations indexOperations;
+    private ElasticsearchBookSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        operations = mock(ElasticsearchOperations.class);
+        indexOperations = mock(IndexOperations.class);
+        when(operations.indexOps(BookDocument.class)).thenReturn(indexOperations);
+        searchService = new ElasticsearchBookSearchService(operations);
+    }
+
+    @Test
+    void index_ShouldCreateIndexOnce_ThenSaveDocuments() {
+        List<BookDocument> documents = List.of(new BookDocument(1, "Effective Java", "Joshua Bloch", null, null, false, true));
+
+        searchService.index(documents);
+        when(indexOperations.exists()).thenReturn(true);
+        searchService.index(documents);
+
+        verify(indexOperations, times(1)).createWithMapping();
+        verify(operations, times(2)).save(documents);
+    }
+
+    @Test
+    void index_ShouldNotCreateIndex_WhenItExists() {
+        when(indexOperations.exists()).thenReturn(true);
+
+        searchService.delete(List.of(7));
+
+        verify(indexOperations, never()).createWithMapping();
+        verify(operations).delete("7", BookDocument.class);
+    }
+
+    @Test
+    void search_ShouldMatchAllTerms_AndReturnHitIds() {
+        when(indexOperations.exists()).thenReturn(true);
+        SearchHits<BookDocument> hits = mock(SearchHits.class);
+        SearchHit<BookDocument> first = hit("3");
+        SearchHit<BookDocument> second = hit("1");
+        when(hits.getSearchHits()).thenReturn(List.of(first, second));
+        when(hits.getTotalHits()).thenReturn(12L);
+        when(operations.search(any(Query.class), eq(BookDocument.class))).thenReturn(hits);
+
+        Page<Integer> result = searchService.search("java bloch", PageRequest.of(1, 2));
+
+        assertEquals(List.of(3, 1), result.getContent());
+        assertEquals(12, result.getTotalElements());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(operations).search(query.capture(), eq(BookDocument.class));
+        NativeQuery nativeQuery = (NativeQuery) query.getValue();
+        assertEquals(PageRequest.of(1, 2), nativeQuery.getPageable());
+        BoolQuery bool = nativeQuery.getQuery().bool();
+        MultiMatchQuery multiMatch = bool.should().get(0).multiMatch();
+        assertEquals("java bloch", multiMatch.query());
+        assertEquals(Operator.And, multiMatch.operator());
+        assertEquals(ElasticsearchBookSearchService.SEARCH_FIELDS, multiMatch.fields());
+        assertEquals("1", bool.minimumShouldMatch());
+        assertEquals("archived", bool.filter().get(0).term().field());
+    }
+
+    @Test
+    void search_ShouldMatchHyphenatedIsbnAgainstNormalizedKeyword() {
+        when(indexOperations.exists()).thenReturn(true);
+        SearchHits<BookDocument> hits = mock(SearchHits.class);
+        when(hits.getSearchHits()).thenReturn(List.of());
+        when(operations.search(any(Query.class), eq(BookDocument.class))).thenReturn(hits);
+
+        searchService.search("978-0-13-468599-1", PageRequest.of(0, 10));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(operations).search(query.capture(), eq(BookDocument.class));
+        TermQuery isbn = ((NativeQuery) query.getValue()).getQuery().bool().should().get(1).term();
+        assertEquals(ElasticsearchBookSearchService.ISBN_FIELD, isbn.field());
+        assertEquals("9780134685991", isbn.value().stringValue());
+    }
+
+    @Test
+    void from_ShouldIndexTheNormalizedIsbn() {
+        Book book = Book.builder().id(1).title("Effective Java").isbn("978-0-13 468599-1").build();
+
+        assertEquals("9780134685991", BookDocument.from(book).isbn());
+    }
+
+    private static SearchHit<BookDocument> hit(String id) {
+        SearchHit<BookDocument> hit = mock(SearchHit.class);
+        when(hit.getId()).thenReturn(id);
+        return hit;
+    }
+}
@@ -0,0 +1,70 @@
+package com.onion.book_network.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+class InMemoryBookSearchServiceTest {
+
+    private InMemoryBookSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new InMemoryBookSearchService();
+        searchService.index(List.of(
+                document(1, "Effective Java", "Joshua Bloch", "978-0134685991", "Best practices for the Java platform", false),
+                document(2, "Java Concurrency in Practice", "Brian Goetz", "978-0321349606", "Threads and locks", false),
+                document(3, "The Hobbit", "J. R. R. Tolkien", "978-0547928227", "A journey there and back again", false),
+                document(4, "Old Java Book", "Someone", "978-0000000000", "Archived", true)
+        ));
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesFirst_AndSkipArchivedBooks() {
+        Page<Integer> hits = searchService.search("java", PageRequest.of(0, 10));
+
+        assertEquals(List.of(2, 1), hits.getContent());
+        assertEquals(2, hits.getTotalElements());
+    }
+
+    @Test
+    void search_ShouldRequireEveryTerm_InAnyField() {
+        assertEquals(List.of(1), searchService.search("bloch java", PageRequest.of(0, 10)).getContent());
+        assertEquals(List.of(3), searchService.search("Tolkien journey", PageRequest.of(0, 10)).getContent());
+        assertTrue(searchService.search("bloch goetz", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void search_ShouldMatchIsbn_WithOrWithoutHyphens() {
+        assertEquals(List.of(3), searchService.search("9780547928227", PageRequest.of(0, 10)).getContent());
+        assertEquals(List.of(3), searchService.search("978-0547928227", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    void search_ShouldPage() {
+        Page<Integer> secondPage = searchService.search("java", PageRequest.of(1, 1));
+
+        assertEquals(List.of(1), secondPage.getContent());
+        assertEquals(2, secondPage.getTotalElements());
+        assertTrue(secondPage.isLast());
+    }
+
+    @Test
+    void indexAndDelete_ShouldReplaceAndRemoveDocuments() {
+        searchService.index(List.of(document(3, "The Lord of the Rings", "J. R. R. Tolkien", null, null, false)));
+        assertTrue(searchService.search("hobbit", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(3), searchService.search("rings", PageRequest.of(0, 10)).getContent());
+
+        searchService.delete(List.of(3));
+        assertTrue(searchService.search("tolkien", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private static BookDocument document(int id, String title, String authorName, String isbn, String synopsis, boolean archived) {
+        return new BookDocument(id, title, authorName, isbn, synopsis, archived, true);
+    }
+}
@@ -0,0 +1,115 @@
+package com.onion.book_network.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+class LuceneBookSearchServiceTest {
+
+    @TempDir
+    private Path indexPath;
+
+    private LuceneBookSearchService searchService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        searchService = new LuceneBookSearchService(indexPath);
+        searchService.index(List.of(
+                document(1, "Effective Java", "Joshua Bloch", "978-0134685991", "Best practices for the Java platform", false),
+                document(2, "Java Concurrency in Practice", "Brian Goetz", "978-0321349606", "Threads and locks", false),
+                document(3, "The Hobbit", "J. R. R. Tolkien", "978-0547928227", "A journey there and back again", false),
+                document(4, "Old Java Book", "Someone", "978-0000000000", "Archived", true)
+        ));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (searchService != null) {
+            searchService.close();
+        }
+    }
+
+    @Test
+    void search_ShouldFindUncommittedUpdates_AndSkipArchivedBooks() {
+        Page<Integer> hits = searchService.search("java", PageRequest.of(0, 10));
+
+        assertEquals(2, hits.getTotalElements());
+        assertTrue(hits.getContent().containsAll(List.of(1, 2)));
+    }
+
+    @Test
+    void search_ShouldRequireEveryTerm_InAnyField() {
+        assertEquals(List.of(1), searchService.search("bloch java", PageRequest.of(0, 10)).getContent());
+        assertEquals(List.of(3), searchService.search("Tolkien journey", PageRequest.of(0, 10)).getContent());
+        assertTrue(searchService.search("bloch goetz", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void search_ShouldMatchIsbn_WithOrWithoutHyphens() {
+        assertEquals(List.of(3), searchService.search("9780547928227", PageRequest.of(0, 10)).getContent());
+        assertEquals(List.of(3), searchService.search("978-0547928227", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    void search_ShouldPage() {
+        Page<Integer> firstPage = searchService.search("java", PageRequest.of(0, 1));
+        Page<Integer> secondPage = searchService.search("java", PageRequest.of(1, 1));
+
+        assertEquals(1, secondPage.getContent().size());
+        assertNotEquals(firstPage.getContent(), secondPage.getContent());
+        assertEquals(2, secondPage.getTotalElements());
+        assertTrue(secondPage.isLast());
+    }
+
+    @Test
+    void indexAndDelete_ShouldReplaceAndRemoveDocuments() {
+        searchService.index(List.of(document(3, "The Lord of the Rings", "J. R. R. Tolkien", null, null, false)));
+        assertTrue(searchService.search("hobbit", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(3), searchService.search("rings", PageRequest.of(0, 10)).getContent());
+
+        searchService.delete(List.of(3));
+        assertTrue(searchService.search("tolkien", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void reopen_ShouldKeepIndex_WhenClosedCleanly() throws IOException {
+        assertTrue(searchService.requiresRebuild());
+        searchService.close();
+
+        searchService = new LuceneBookSearchService(indexPath);
+
+        assertFalse(searchService.requiresRebuild());
+        assertEquals(List.of(3), searchService.search("hobbit", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    void reopen_ShouldRequireRebuild_AfterCrash(@TempDir Path crashedIndexPath) throws IOException {
+        searchService.commit();
+        // The disk as a crashed node leaves it: committed, but never closed
+        try (Stream<Path> files = Files.list(indexPath)) {
+            for (Path file : files.filter(file -> !file.getFileName().toString().equals("write.lock")).toList()) {
+                Files.copy(file, crashedIndexPath.resolve(file.getFileName()));
+            }
+        }
+
+        try (LuceneBookSearchService reopened = new LuceneBookSearchService(crashedIndexPath)) {
+            assertTrue(reopened.requiresRebuild());
+            assertTrue(reopened.search("hobbit", PageRequest.of(0, 10)).isEmpty());
+        }
+    }
+
+    private static BookDocument document(int id, String title, String authorName, String isbn, String synopsis, boolean archived) {
+        return new BookDocument(id, title, authorName, isbn, synopsis, archived, true);
+    }
+}
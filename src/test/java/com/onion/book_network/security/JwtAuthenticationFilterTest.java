@@ -3,6 +3,11 @@ package com.onion.book_network.security;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,7 +15,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
@@ -19,6 +23,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -41,8 +46,9 @@ class JwtAuthenticationFilterTest {
     @Mock
     private FilterChain filterChain;
 
-    @InjectMocks
-    private JwtFilter jwtAuthenticationFilter;
+    private SimpleMeterRegistry meterRegistry;
+
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     private final String VALID_TOKEN = "valid.token.here";
     private final String INVALID_TOKEN = "invalid.token.here";
@@ -53,22 +59,23 @@ class JwtAuthenticationFilterTest {
     @BeforeEach
     void setUp() {
         SecurityContextHolder.clearContext();
+        meterRegistry = new SimpleMeterRegistry();
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtService, userDetailsService, meterRegistry, false);
 
         userDetails = new User(
                 USER_EMAIL,
                 "password",
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
         );
-        
-        when(request.getServletPath()).thenReturn("/api/v1/books");
     }
 
     @Test
     void doFilterInternal_ValidToken_ShouldSetAuthentication() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn(AUTHORIZATION_HEADER);
-        when(jwtService.extractUsername(VALID_TOKEN)).thenReturn(USER_EMAIL);
+        Claims claims = Jwts.claims().setSubject(USER_EMAIL);
+        when(jwtService.validateToken(VALID_TOKEN)).thenReturn(claims);
         when(userDetailsService.loadUserByUsername(USER_EMAIL)).thenReturn(userDetails);
-        when(jwtService.isTokenValid(VALID_TOKEN, userDetails)).thenReturn(true);
+        when(jwtService.isTokenValid(claims, userDetails)).thenReturn(true);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -106,7 +113,7 @@ class JwtAuthenticationFilterTest {
     @Test
     void doFilterInternal_InvalidToken_ShouldNotSetAuthentication() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn("Bearer " + INVALID_TOKEN);
-        when(jwtService.extractUsername(INVALID_TOKEN)).thenThrow(new RuntimeException("Invalid token"));
+        when(jwtService.validateToken(INVALID_TOKEN)).thenThrow(new MalformedJwtException("Invalid token"));
 
         assertDoesNotThrow(() -> jwtAuthenticationFilter.doFilterInternal(request, response, filterChain));
 
@@ -117,16 +124,48 @@ class JwtAuthenticationFilterTest {
     @Test
     void doFilterInternal_ExpiredToken_ShouldNotSetAuthentication() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn(AUTHORIZATION_HEADER);
-        when(jwtService.extractUsername(VALID_TOKEN)).thenReturn(USER_EMAIL);
-        when(userDetailsService.loadUserByUsername(USER_EMAIL)).thenReturn(userDetails);
-        when(jwtService.isTokenValid(VALID_TOKEN, userDetails)).thenReturn(false); // expired/invalid
+        when(jwtService.validateToken(VALID_TOKEN))
+                .thenThrow(new ExpiredJwtException(null, Jwts.claims().setSubject(USER_EMAIL), "Token expired"));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(request, response);
+        verify(jwtService).validateToken(VALID_TOKEN);
+        verifyNoInteractions(userDetailsService);
+        assertEquals(1, meterRegistry.get(JwtAuthenticationFilter.REJECTION_COUNTER).tag("reason", "expired").counter().count());
+    }
+
+    @Test
+    void doFilterInternal_StatelessPrincipal_ShouldNotLoadUser() throws ServletException, IOException {
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtService, userDetailsService, meterRegistry, true);
+        Claims claims = Jwts.claims().setSubject(USER_EMAIL);
+        JwtPrincipal principal = new JwtPrincipal(1, USER_EMAIL, "Test User", userDetails.getAuthorities());
+        when(request.getHeader("Authorization")).thenReturn(AUTHORIZATION_HEADER);
+        when(jwtService.validateToken(VALID_TOKEN)).thenReturn(claims);
+        when(jwtService.toPrincipal(claims)).thenReturn(principal);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertSame(principal, authentication.getPrincipal());
+        assertEquals(USER_EMAIL, authentication.getName());
+        verifyNoInteractions(userDetailsService);
+        verify(filterChain).doFilter(request, response);
+        assertEquals(1, meterRegistry.get(JwtAuthenticationFilter.PHASE_TIMER).tag("phase", "principal").timer().count());
+    }
+
+    @Test
+    void doFilterInternal_UnknownUser_ShouldNotSetAuthentication() throws ServletException, IOException {
+        when(request.getHeader("Authorization")).thenReturn(AUTHORIZATION_HEADER);
+        when(jwtService.validateToken(VALID_TOKEN)).thenReturn(Jwts.claims().setSubject(USER_EMAIL));
+        when(userDetailsService.loadUserByUsername(USER_EMAIL)).thenThrow(new UsernameNotFoundException(USER_EMAIL));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).isTokenValid(VALID_TOKEN, userDetails);
-        verify(userDetailsService).loadUserByUsername(USER_EMAIL);
+        assertEquals(1, meterRegistry.get(JwtAuthenticationFilter.REJECTION_COUNTER).tag("reason", "user_not_found").counter().count());
     }
 
     @Test
@@ -141,6 +180,6 @@ class JwtAuthenticationFilterTest {
         assertSame(existingAuth, SecurityContextHolder.getContext().getAuthentication());
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).extractUsername(VALID_TOKEN);
+        verifyNoInteractions(jwtService);
     }
 }
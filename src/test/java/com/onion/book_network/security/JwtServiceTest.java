@@ -1,8 +1,6 @@
-/*
 package com.onion.book_network.security;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,8 +8,13 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 
 class JwtServiceTest {
 
@@ -22,7 +25,7 @@ class JwtServiceTest {
 
     @BeforeEach
     void setUp() {
-        jwtService = new JwtService(); // ideally inject SECRET_KEY and EXPIRATION via constructor
+        jwtService = new JwtService(SECRET_KEY, EXPIRATION);
         userDetails = new User(
                 "test@example.com",
                 "password",
@@ -62,26 +65,33 @@ class JwtServiceTest {
     }
 
     @Test
-    void isTokenValid_ShouldReturnFalse_ForExpiredToken() {
-        String token = jwtService.generateToken(userDetails);
-
-        JwtService spyJwtService = spy(jwtService);
-        doReturn(true).when(spyJwtService).isTokenExpired(anyString());
+    void validateToken_ShouldThrow_ForExpiredToken() {
+        String token = new JwtService(SECRET_KEY, -1000).generateToken(userDetails);
+        assertThrows(ExpiredJwtException.class, () -> jwtService.validateToken(token));
+    }
 
-        assertFalse(spyJwtService.isTokenValid(token, userDetails));
-        verify(spyJwtService).isTokenExpired(token);
+    @Test
+    void validateToken_ShouldThrow_ForTokenSignedWithOtherKey() {
+        String otherKey = "7134743777217A25432A462D4A614E645267556B58703273357638792F423F45";
+        String token = new JwtService(otherKey, EXPIRATION).generateToken(userDetails);
+        assertThrows(JwtException.class, () -> jwtService.validateToken(token));
     }
 
     @Test
-    void extractAllClaims_ShouldThrow_ForInvalidToken() {
+    void validateToken_ShouldThrow_ForInvalidToken() {
         String invalidToken = "invalid.token.here";
-        assertThrows(io.jsonwebtoken.JwtException.class, () -> jwtService.extractAllClaims(invalidToken));
+        assertThrows(JwtException.class, () -> jwtService.validateToken(invalidToken));
+    }
+
+    @Test
+    void validateToken_ShouldThrow_ForBlankToken() {
+        assertThrows(JwtException.class, () -> jwtService.validateToken(""));
     }
 
     @Test
     void extractUsername_ShouldThrow_ForInvalidToken() {
         String invalidToken = "invalid.token.here";
-        assertThrows(io.jsonwebtoken.JwtException.class, () -> jwtService.extractUsername(invalidToken));
+        assertThrows(JwtException.class, () -> jwtService.extractUsername(invalidToken));
     }
 
     @Test
@@ -92,9 +102,31 @@ class JwtServiceTest {
         String token = jwtService.generateToken(extraClaims, userDetails);
         assertNotNull(token);
 
-        var claims = jwtService.extractAllClaims(token);
+        Claims claims = jwtService.validateToken(token);
         assertEquals("value", claims.get("custom"));
         assertEquals(userDetails.getUsername(), claims.getSubject());
+        assertTrue(jwtService.isTokenValid(claims, userDetails));
+    }
+
+    @Test
+    void toPrincipal_ShouldRebuildCallerFromClaims() {
+        var extraClaims = new HashMap<String, Object>();
+        extraClaims.put("id", 42);
+        extraClaims.put("fullName", "Test User");
+
+        Claims claims = jwtService.validateToken(jwtService.generateToken(extraClaims, userDetails));
+        JwtPrincipal principal = jwtService.toPrincipal(claims);
+
+        assertNotNull(principal);
+        assertEquals(42, principal.getId());
+        assertEquals("test@example.com", principal.getEmail());
+        assertEquals("Test User", principal.fullName());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), principal.authorities());
+    }
+
+    @Test
+    void toPrincipal_ShouldReturnNull_ForTokenWithoutId() {
+        Claims claims = jwtService.validateToken(jwtService.generateToken(userDetails));
+        assertNull(jwtService.toPrincipal(claims));
     }
 }
-*/
\ No newline at end of file
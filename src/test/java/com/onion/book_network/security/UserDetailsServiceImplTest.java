@@ -0,0 +1,77 @@
+package com.onion.book_network.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import com.onion.book_network.user.User;
+import com.onion.book_network.user.UserRepository;
+
+@SpringJUnitConfig(UserDetailsServiceImplTest.CacheConfig.class)
+class UserDetailsServiceImplTest {
+
+    private static final String EMAIL = "jane@mail.com";
+
+    @Configuration
+    @EnableCaching(proxyTargetClass = true)
+    @Import(UserDetailsServiceImpl.class)
+    static class CacheConfig {
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(UserDetailsServiceImpl.USERS_CACHE);
+        }
+    }
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(UserDetailsServiceImpl.USERS_CACHE).clear();
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(User.builder()
+                .id(1)
+                .email(EMAIL)
+                .enabled(true)
+                .roles(List.of())
+                .build()));
+    }
+
+    @Test
+    void loadUserByUsername_ShouldHitRepositoryOnceForRepeatedLookups() {
+        UserDetails first = userDetailsService.loadUserByUsername(EMAIL);
+        UserDetails second = userDetailsService.loadUserByUsername(EMAIL);
+
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void evictUser_ShouldReloadUserOnNextLookup() {
+        userDetailsService.loadUserByUsername(EMAIL);
+        userDetailsService.evictUser(EMAIL);
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+}